@@ -0,0 +1,100 @@
+package com.sbvdeveloper.employeereact.benchmark;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sbvdeveloper.employeereact.config.cache.ReactiveCache;
+import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.service.EmployeeServiceImpl;
+import com.sbvdeveloper.employeereact.service.audit.AuditLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * Bases de datos de los benchmarks: H2 en memoria para lecturas y mapeo, y PostgreSQL en Testcontainers para las
+ * escrituras del servicio, que usan ON CONFLICT y RETURNING (sin equivalente en H2)
+ */
+final class BenchmarkDatabases {
+
+    static final String[] NAMES = {"Alice", "Bob", "Charlie", "Diana", "Eve", "Frank", "Grace", "Hank"};
+    static final String[] ROLES = {"Developer", "Tester", "Analyst", "Designer", "Support", "Manager"};
+
+    private static final String H2_EMPLOYEES_DDL = """
+            CREATE TABLE IF NOT EXISTS employees (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                name VARCHAR(100) NOT NULL,
+                role VARCHAR(50) NOT NULL
+            )
+            """;
+
+    private BenchmarkDatabases() {
+    }
+
+    //Base H2 en memoria con la tabla employees y rows filas
+    static ConnectionFactory h2(String name, int rows) {
+        ConnectionFactory connectionFactory = H2ConnectionFactory.inMemory(name);
+        DatabaseClient client = DatabaseClient.create(connectionFactory);
+        client.sql(H2_EMPLOYEES_DDL).then().block();
+        seed(client, rows);
+        return connectionFactory;
+    }
+
+    //PostgreSQL con el esquema real (migraciones de Flyway) y un pool como el de la aplicacion
+    static ConnectionPool postgres(PostgreSQLContainer<?> container, int rows) {
+        Flyway.configure()
+                .dataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword())
+                .load()
+                .migrate();
+        ConnectionFactory connectionFactory = ConnectionFactories.get(String.format("r2dbc:postgresql://%s:%s@%s:%d/%s",
+                container.getUsername(), container.getPassword(), container.getHost(),
+                container.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), container.getDatabaseName()));
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(5)
+                .maxSize(20)
+                .build());
+        seed(DatabaseClient.create(pool), rows);
+        return pool;
+    }
+
+    static AuditLogWriter auditLogWriter(R2dbcEntityTemplate template) {
+        AuditLogWriter auditLogWriter = new AuditLogWriter(template, new SimpleMeterRegistry(), 10_000, 500,
+                Duration.ofMillis(200), AuditLogWriter.OverflowPolicy.DROP);
+        auditLogWriter.start();
+        return auditLogWriter;
+    }
+
+    static ReactiveCache<Long, Employee> employeeCache() {
+        return new ReactiveCache<>(Caffeine.newBuilder().maximumSize(10_000).<Long, Employee>buildAsync());
+    }
+
+    static EmployeeServiceImpl employeeService(R2dbcEntityTemplate template, ReactiveCache<Long, Employee> employeeCache,
+                                               AuditLogWriter auditLogWriter) {
+        return new EmployeeServiceImpl(template, template, employeeCache, auditLogWriter, Duration.ofMillis(2), 100, 4);
+    }
+
+    static Employee employee(long i) {
+        return Employee.builder()
+                .name(NAMES[Math.floorMod(i, NAMES.length)])
+                .role(ROLES[Math.floorMod(i, ROLES.length)])
+                .build();
+    }
+
+    private static void seed(DatabaseClient client, int rows) {
+        Flux.range(0, rows)
+                .concatMap(i -> client.sql("INSERT INTO employees (name, role) VALUES (:name, :role)")
+                        .bind("name", NAMES[i % NAMES.length])
+                        .bind("role", ROLES[i % ROLES.length])
+                        .then())
+                .then()
+                .block();
+    }
+}
@@ -0,0 +1,64 @@
+package com.sbvdeveloper.employeereact.benchmark;
+
+import com.sbvdeveloper.employeereact.config.cache.ReactiveCache;
+import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.service.EmployeeServiceImpl;
+import com.sbvdeveloper.employeereact.service.audit.AuditLogWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas de EmployeeServiceImpl sobre H2 en memoria: consulta por id con y sin cache y paginacion por cursor
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeReadBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private EmployeeServiceImpl employeeService;
+    private ReactiveCache<Long, Employee> employeeCache;
+    private AuditLogWriter auditLogWriter;
+
+    @Setup
+    public void setup() {
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(BenchmarkDatabases.h2("employee-read", ROWS));
+        auditLogWriter = BenchmarkDatabases.auditLogWriter(template);
+        employeeCache = BenchmarkDatabases.employeeCache();
+        employeeService = BenchmarkDatabases.employeeService(template, employeeCache, auditLogWriter);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        auditLogWriter.stop();
+    }
+
+    @Benchmark
+    public Employee getEmployeeByIdCached() {
+        return employeeService.getEmployeeById(ThreadLocalRandom.current().nextLong(1, 101)).block();
+    }
+
+    //Sin cache: cada llamada llega a la base de datos
+    @Benchmark
+    public Employee getEmployeeByIdUncached() {
+        long id = ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+        Employee employee = employeeService.getEmployeeById(id).block();
+        employeeCache.invalidate(id);
+        return employee;
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesPage() {
+        return employeeService.getEmployeesPage(ThreadLocalRandom.current().nextLong(0, ROWS - 100), 100)
+                .collectList()
+                .block();
+    }
+}
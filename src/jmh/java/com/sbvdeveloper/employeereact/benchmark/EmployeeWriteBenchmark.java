@@ -0,0 +1,68 @@
+package com.sbvdeveloper.employeereact.benchmark;
+
+import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.service.EmployeeServiceImpl;
+import com.sbvdeveloper.employeereact.service.audit.AuditLogWriter;
+import io.r2dbc.pool.ConnectionPool;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escrituras de EmployeeServiceImpl (insert, upsert y update con su auditoria asincrona) sobre PostgreSQL en
+ * Testcontainers: las sentencias usan ON CONFLICT y RETURNING, que H2 no soporta
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeWriteBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private PostgreSQLContainer<?> container;
+    private ConnectionPool pool;
+    private AuditLogWriter auditLogWriter;
+    private EmployeeServiceImpl employeeService;
+
+    @Setup
+    public void setup() {
+        container = new PostgreSQLContainer<>("postgres:15-alpine");
+        container.start();
+        pool = BenchmarkDatabases.postgres(container, ROWS);
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(pool);
+        auditLogWriter = BenchmarkDatabases.auditLogWriter(template);
+        employeeService = BenchmarkDatabases.employeeService(template, BenchmarkDatabases.employeeCache(), auditLogWriter);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        auditLogWriter.stop();
+        pool.dispose();
+        container.stop();
+    }
+
+    @Benchmark
+    public Employee insertEmployee() {
+        return employeeService.saveEmployee(BenchmarkDatabases.employee(ThreadLocalRandom.current().nextLong())).block();
+    }
+
+    @Benchmark
+    public Employee upsertEmployee() {
+        long id = ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+        Employee employee = BenchmarkDatabases.employee(id + 1);
+        employee.setId(id);
+        return employeeService.saveEmployee(employee).block();
+    }
+
+    @Benchmark
+    public Employee updateEmployee() {
+        long id = ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+        return employeeService.updateEmployee(id, BenchmarkDatabases.employee(id + 1)).block();
+    }
+}
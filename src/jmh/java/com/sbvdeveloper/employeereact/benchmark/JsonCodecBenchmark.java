@@ -0,0 +1,96 @@
+package com.sbvdeveloper.employeereact.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.mongo.EmployeeMongo;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Codificacion y decodificacion JSON de Employee y EmployeeMongo, con el ObjectMapper directo y con el
+ * Jackson2JsonEncoder que usa WebFlux para escribir la respuesta
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private static final ResolvableType EMPLOYEE_LIST = ResolvableType.forClassWithGenerics(List.class, Employee.class);
+
+    @Param({"1", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private Jackson2JsonEncoder encoder;
+    private JavaType employeeListType;
+    private JavaType employeeMongoListType;
+    private List<Employee> employees;
+    private List<EmployeeMongo> employeesMongo;
+    private byte[] employeesJson;
+    private byte[] employeesMongoJson;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        encoder = new Jackson2JsonEncoder(objectMapper);
+        employeeListType = objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class);
+        employeeMongoListType = objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeMongo.class);
+        employees = LongStream.rangeClosed(1, size)
+                .mapToObj(i -> {
+                    Employee employee = BenchmarkDatabases.employee(i);
+                    employee.setId(i);
+                    return employee;
+                })
+                .toList();
+        employeesMongo = employees.stream()
+                .map(e -> EmployeeMongo.builder().id(Long.toHexString(e.getId())).name(e.getName()).role(e.getRole()).build())
+                .toList();
+        employeesJson = objectMapper.writeValueAsBytes(employees);
+        employeesMongoJson = objectMapper.writeValueAsBytes(employeesMongo);
+    }
+
+    @Benchmark
+    public byte[] encodeEmployees() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> decodeEmployees() throws IOException {
+        return objectMapper.readValue(employeesJson, employeeListType);
+    }
+
+    @Benchmark
+    public byte[] encodeEmployeesMongo() throws IOException {
+        return objectMapper.writeValueAsBytes(employeesMongo);
+    }
+
+    @Benchmark
+    public List<EmployeeMongo> decodeEmployeesMongo() throws IOException {
+        return objectMapper.readValue(employeesMongoJson, employeeMongoListType);
+    }
+
+    //Mismo camino que una respuesta Mono<List<Employee>> de los controladores
+    @Benchmark
+    public int encodeEmployeesWithWebFluxEncoder() {
+        DataBuffer buffer = encoder.encodeValue(employees, DefaultDataBufferFactory.sharedInstance, EMPLOYEE_LIST,
+                MediaType.APPLICATION_JSON, null);
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sbvdeveloper.employeereact.benchmark;
+
+import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.EmployeeView;
+import com.sbvdeveloper.employeereact.service.mapper.EmployeeRowMapper;
+import io.r2dbc.spi.ConnectionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeo fila -> entidad sobre H2 en memoria: R2dbcEntityTemplate (MappingR2dbcConverter, reflexivo) contra
+ * EmployeeRowMapper. Con -prof gc, gc.alloc.rate.norm dividido entre rows da la asignacion por fila
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    private R2dbcEntityTemplate template;
+
+    @Setup
+    public void setup() {
+        ConnectionFactory connectionFactory = BenchmarkDatabases.h2("row-mapping", 1_000);
+        template = new R2dbcEntityTemplate(connectionFactory);
+    }
+
+    @Benchmark
+    public List<Employee> entityTemplateMapping() {
+        return template.select(Employee.class)
+                .matching(Query.empty().limit(rows))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    //Mapeo escrito a mano por posicion que usan las lecturas de EmployeeServiceImpl
+    @Benchmark
+    public List<Employee> rowMapperMapping() {
+        return template.getDatabaseClient()
+                .sql("SELECT " + EmployeeRowMapper.COLUMNS + " FROM employees LIMIT :limit")
+                .bind("limit", rows)
+                .map(EmployeeRowMapper.EMPLOYEE)
+                .all()
+                .collectList()
+                .block();
+    }
+
+    //Modelo de lectura inmutable (record) del flujo NDJSON
+    @Benchmark
+    public List<EmployeeView> rowMapperViewMapping() {
+        return template.getDatabaseClient()
+                .sql("SELECT " + EmployeeRowMapper.COLUMNS + " FROM employees LIMIT :limit")
+                .bind("limit", rows)
+                .map(EmployeeRowMapper.VIEW)
+                .all()
+                .collectList()
+                .block();
+    }
+}
@@ -1,6 +1,7 @@
 package com.sbvdeveloper.employeereact.config;
 
 import com.sbvdeveloper.employeereact.domain.Employee;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,6 +9,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+@Slf4j
 @Configuration
 public class ConfigDataEmployee {
 
@@ -27,7 +29,7 @@ public class ConfigDataEmployee {
                     .build();
             employees.add(employee);
         }
-        employees.forEach(System.out::println);
+        employees.forEach(employee -> log.debug("Empleado en memoria: {}", employee));
 
         return employees;
     }
@@ -0,0 +1,34 @@
+package com.sbvdeveloper.employeereact.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Abre las conexiones iniciales (initial-size) de cada pool al arrancar, asi las primeras peticiones
+ * no pagan el costo de establecer la conexion con PostgreSQL
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "spring.r2dbc.pool", name = "warmup", havingValue = "true", matchIfMissing = true)
+public class ConnectionPoolWarmup {
+
+    private final Map<String, ConnectionPool> connectionPools;
+
+    public ConnectionPoolWarmup(Map<String, ConnectionPool> connectionPools) {
+        this.connectionPools = connectionPools;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmup() {
+        connectionPools.forEach((name, pool) -> pool.warmup()
+                .subscribe(
+                        connections -> log.info("Pool {} precalentado con {} conexiones", name, connections),
+                        e -> log.warn("Error al precalentar el pool {}: {}", name, e.getMessage())));
+    }
+}
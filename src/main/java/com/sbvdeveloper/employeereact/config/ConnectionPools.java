@@ -0,0 +1,28 @@
+package com.sbvdeveloper.employeereact.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+
+import java.time.Duration;
+
+/**
+ * Construccion del pool de conexiones (r2dbc-pool) compartida por las bases de datos primaria y secundaria
+ */
+final class ConnectionPools {
+
+    private ConnectionPools() {
+    }
+
+    static ConnectionPool create(String name, ConnectionFactory connectionFactory, int initialSize, int maxSize,
+                                 Duration maxIdleTime, Duration maxAcquireTime, String validationQuery) {
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name(name)
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .maxAcquireTime(maxAcquireTime)
+                .validationQuery(validationQuery)
+                .build());
+    }
+}
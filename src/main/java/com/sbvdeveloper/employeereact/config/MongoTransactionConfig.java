@@ -0,0 +1,18 @@
+package com.sbvdeveloper.employeereact.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+
+@Configuration
+public class MongoTransactionConfig {
+
+    // Transacciones de Mongo para escrituras de varios documentos: @Transactional(transactionManager = "mongoTransactionManager").
+    // Requieren un replica set; las operaciones de un solo documento ya son atomicas y no lo necesitan
+    @Bean("mongoTransactionManager")
+    public ReactiveTransactionManager mongoTransactionManager(ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory) {
+        return new ReactiveMongoTransactionManager(reactiveMongoDatabaseFactory);
+    }
+}
@@ -1,10 +1,18 @@
 package com.sbvdeveloper.employeereact.config;
 
+import com.sbvdeveloper.employeereact.config.metrics.MetricsConfig;
+import com.sbvdeveloper.employeereact.service.diagnostics.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.spi.ConnectionFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+
+import java.util.Map;
 
 @Configuration
 public class R2dbcConfig {
@@ -15,15 +23,29 @@ public class R2dbcConfig {
     @Qualifier("secondaryConnectionFactory") // Asegúrate de usar el 'secondaryConnectionFactory' adecuado
     private final ConnectionFactory secondaryConnectionFactory;
 
-    public R2dbcConfig(ConnectionFactory primaryConnectionFactory, ConnectionFactory secondaryConnectionFactory) {
-        this.primaryConnectionFactory = primaryConnectionFactory;
-        this.secondaryConnectionFactory = secondaryConnectionFactory;
+    // Los templates y el enrutador usan los pools envueltos con r2dbc-proxy para medir cada sentencia por datasource
+    // y registrar las consultas lentas
+    public R2dbcConfig(ConnectionFactory primaryConnectionFactory, ConnectionFactory secondaryConnectionFactory,
+                       MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+        this.primaryConnectionFactory = MetricsConfig.instrument(primaryConnectionFactory, "primary", meterRegistry, slowQueryLog);
+        this.secondaryConnectionFactory = MetricsConfig.instrument(secondaryConnectionFactory, "secondary", meterRegistry, slowQueryLog);
+    }
+
+    // Enruta las transacciones de solo lectura a la secundaria y las escrituras a la primaria
+    @Bean("routingConnectionFactory")
+    public ReadWriteRoutingConnectionFactory routingConnectionFactory(SecondaryDatabaseMonitor secondaryDatabaseMonitor) {
+        ReadWriteRoutingConnectionFactory routingConnectionFactory = new ReadWriteRoutingConnectionFactory(secondaryDatabaseMonitor);
+        routingConnectionFactory.setTargetConnectionFactories(Map.of(
+                ReadWriteRoutingConnectionFactory.PRIMARY, primaryConnectionFactory,
+                ReadWriteRoutingConnectionFactory.SECONDARY, secondaryConnectionFactory));
+        routingConnectionFactory.setDefaultTargetConnectionFactory(primaryConnectionFactory);
+        return routingConnectionFactory;
     }
 
-    // Para la base de datos primaria
+    // Para la base de datos primaria: escribe siempre en la primaria y descarga las lecturas readOnly en la secundaria
     @Bean("primaryR2dbcEntityTemplate")
-    public R2dbcEntityTemplate primaryR2dbcEntityTemplate() {
-        return new R2dbcEntityTemplate(primaryConnectionFactory);
+    public R2dbcEntityTemplate primaryR2dbcEntityTemplate(@Qualifier("routingConnectionFactory") ConnectionFactory routingConnectionFactory) {
+        return new R2dbcEntityTemplate(routingConnectionFactory);
     }
 
     // Para la base de datos secundaria
@@ -31,4 +53,18 @@ public class R2dbcConfig {
     public R2dbcEntityTemplate secondaryR2dbcEntityTemplate() {
         return new R2dbcEntityTemplate(secondaryConnectionFactory);
     }
-}
\ No newline at end of file
+
+    // Las transacciones se abren sobre el enrutador, que decide la base de datos segun readOnly.
+    // Es el de por defecto (@Transactional sin transactionManager) y cubre primaryR2dbcEntityTemplate
+    @Primary
+    @Bean({"transactionManager", "primaryTransactionManager"})
+    public ReactiveTransactionManager transactionManager(@Qualifier("routingConnectionFactory") ConnectionFactory routingConnectionFactory) {
+        return new ReadOnlyRoutingTransactionManager(routingConnectionFactory);
+    }
+
+    // Para secondaryR2dbcEntityTemplate: las transacciones del enrutador no cubren las conexiones de este template
+    @Bean("secondaryTransactionManager")
+    public ReactiveTransactionManager secondaryTransactionManager() {
+        return new R2dbcTransactionManager(secondaryConnectionFactory);
+    }
+}
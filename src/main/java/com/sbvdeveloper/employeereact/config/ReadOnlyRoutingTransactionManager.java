@@ -0,0 +1,26 @@
+package com.sbvdeveloper.employeereact.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2dbcTransactionManager que publica el indicador readOnly antes de pedir la conexion.
+ * Spring lo registra despues de doBegin, y sin esto ReadWriteRoutingConnectionFactory no podria
+ * saber a que base de datos enviar la transaccion
+ */
+public class ReadOnlyRoutingTransactionManager extends R2dbcTransactionManager {
+
+    public ReadOnlyRoutingTransactionManager(ConnectionFactory connectionFactory) {
+        super(connectionFactory);
+    }
+
+    @Override
+    protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction,
+                                 TransactionDefinition definition) {
+        synchronizationManager.setCurrentTransactionReadOnly(definition.isReadOnly());
+        return super.doBegin(synchronizationManager, transaction, definition);
+    }
+}
@@ -0,0 +1,32 @@
+package com.sbvdeveloper.employeereact.config;
+
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Envia las transacciones de solo lectura (@Transactional(readOnly = true)) a la base de datos secundaria
+ * y el resto a la primaria. Si la secundaria no esta disponible o va retrasada se usa la primaria.
+ * Con propagation = SUPPORTS no hay BEGIN/COMMIT pero Spring igual publica readOnly en la sincronizacion,
+ * asi que las lecturas de una sola sentencia tambien van a la secundaria
+ */
+public class ReadWriteRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+    public static final String PRIMARY = "primary";
+    public static final String SECONDARY = "secondary";
+
+    private final SecondaryDatabaseMonitor secondaryDatabaseMonitor;
+
+    public ReadWriteRoutingConnectionFactory(SecondaryDatabaseMonitor secondaryDatabaseMonitor) {
+        this.secondaryDatabaseMonitor = secondaryDatabaseMonitor;
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .<Object>map(synchronizationManager -> synchronizationManager.isCurrentTransactionReadOnly()
+                        && secondaryDatabaseMonitor.isAvailable() ? SECONDARY : PRIMARY)
+                .onErrorResume(NoTransactionException.class, e -> Mono.just(PRIMARY));
+    }
+}
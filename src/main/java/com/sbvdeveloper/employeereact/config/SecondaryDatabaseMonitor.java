@@ -0,0 +1,79 @@
+package com.sbvdeveloper.employeereact.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Verifica periodicamente que la base de datos secundaria responda y que su retraso de replicacion
+ * no supere el maximo configurado. Mientras no cumpla, las lecturas se envian a la primaria
+ */
+@Slf4j
+@Component
+public class SecondaryDatabaseMonitor {
+
+    //Si la secundaria es una replica se mide el retraso desde la ultima transaccion aplicada, si no el retraso es 0
+    private static final String REPLICATION_LAG_SQL = """
+            SELECT CASE WHEN pg_is_in_recovery()
+                        THEN COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                        ELSE 0 END::float8 AS lag_seconds
+            """;
+
+    private final DatabaseClient secondaryDatabaseClient;
+    private final AtomicBoolean available = new AtomicBoolean(false);
+
+    @Value("${config.r2dbc.routing.health-check-interval:5s}")
+    private Duration healthCheckInterval;
+
+    @Value("${config.r2dbc.routing.max-replication-lag:10s}")
+    private Duration maxReplicationLag;
+
+    private Disposable healthCheck;
+
+    public SecondaryDatabaseMonitor(@Qualifier("secondaryConnectionFactory") ConnectionFactory secondaryConnectionFactory) {
+        this.secondaryDatabaseClient = DatabaseClient.create(secondaryConnectionFactory);
+    }
+
+    public boolean isAvailable() {
+        return available.get();
+    }
+
+    @PostConstruct
+    public void start() {
+        healthCheck = Flux.interval(Duration.ZERO, healthCheckInterval)
+                .concatMap(tick -> check())
+                .subscribe(healthy -> {
+                    if (available.getAndSet(healthy) != healthy) {
+                        log.info("Base de datos secundaria {}", healthy ? "disponible para lecturas" : "no disponible, lecturas a la primaria");
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (healthCheck != null) {
+            healthCheck.dispose();
+        }
+    }
+
+    private Mono<Boolean> check() {
+        return secondaryDatabaseClient.sql(REPLICATION_LAG_SQL)
+                .map((row, metadata) -> row.get("lag_seconds", Double.class))
+                .one()
+                .map(lagSeconds -> lagSeconds * 1000 <= maxReplicationLag.toMillis())
+                .timeout(healthCheckInterval)
+                .onErrorReturn(false)
+                .defaultIfEmpty(false);
+    }
+}
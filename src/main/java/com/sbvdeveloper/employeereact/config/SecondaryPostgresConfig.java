@@ -1,5 +1,6 @@
 package com.sbvdeveloper.employeereact.config;
 
+import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.spi.ConnectionFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
@@ -7,6 +8,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
 
+import java.time.Duration;
+
 @Configuration
 public class SecondaryPostgresConfig extends AbstractR2dbcConfiguration {
 
@@ -19,13 +22,29 @@ public class SecondaryPostgresConfig extends AbstractR2dbcConfiguration {
     @Value("${spring.r2dbc.secondary.password}")
     private String password;
 
+    @Value("${spring.r2dbc.secondary.pool.initial-size:5}")
+    private int initialSize;
+
+    @Value("${spring.r2dbc.secondary.pool.max-size:20}")
+    private int maxSize;
+
+    @Value("${spring.r2dbc.secondary.pool.max-idle-time:30m}")
+    private Duration maxIdleTime;
+
+    @Value("${spring.r2dbc.secondary.pool.max-acquire-time:5s}")
+    private Duration maxAcquireTime;
+
+    @Value("${spring.r2dbc.secondary.pool.validation-query:SELECT 1}")
+    private String validationQuery;
+
     @Override
-    @Bean("secondaryConnectionFactory")
-    public ConnectionFactory connectionFactory() {
-        return ConnectionFactoryBuilder
+    @Bean(name = "secondaryConnectionFactory", destroyMethod = "dispose")
+    public ConnectionPool connectionFactory() {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder
                 .withUrl(r2dbcUrl)
                 .username(username)
                 .password(password)
                 .build();
+        return ConnectionPools.create("secondary", connectionFactory, initialSize, maxSize, maxIdleTime, maxAcquireTime, validationQuery);
     }
 }
@@ -0,0 +1,44 @@
+package com.sbvdeveloper.employeereact.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Efectos secundarios (cache, auditoria) que solo deben ocurrir si la transaccion en curso confirma.
+ * Sin transaccion real (o con SUPPORTS) la accion se ejecuta de inmediato
+ */
+@Slf4j
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    //Registra action para despues del commit; si la transaccion hace rollback no se ejecuta. Un fallo de action
+    //solo se registra en el log, el commit ya ocurrio y no debe convertirse en un error para quien llama
+    public static Mono<Void> afterCommit(Mono<Void> action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(synchronizationManager -> {
+                    if (!synchronizationManager.isSynchronizationActive() || !synchronizationManager.isActualTransactionActive()) {
+                        return action;
+                    }
+                    synchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return action.onErrorResume(e -> {
+                                log.warn("Error al ejecutar una accion posterior al commit: {}", e.getMessage());
+                                return Mono.empty();
+                            });
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, e -> action);
+    }
+
+    public static Mono<Void> afterCommit(Runnable action) {
+        return afterCommit(Mono.fromRunnable(action));
+    }
+}
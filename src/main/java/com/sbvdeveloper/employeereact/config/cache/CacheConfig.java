@@ -0,0 +1,45 @@
+package com.sbvdeveloper.employeereact.config.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.mongo.EmployeeMongo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Caches en memoria de las consultas por id, con limite de tamano y expiracion.
+ * Las metricas de aciertos, fallos y desalojos se publican como cache.gets, cache.evictions, etc.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public ReactiveCache<Long, Employee> employeeCache(MeterRegistry meterRegistry,
+                                                       @Value("${config.cache.employees.maximum-size:10000}") long maximumSize,
+                                                       @Value("${config.cache.employees.ttl:5m}") Duration ttl) {
+        return new ReactiveCache<>(buildCache(meterRegistry, "employees", maximumSize, ttl));
+    }
+
+    @Bean
+    public ReactiveCache<String, EmployeeMongo> employeeMongoCache(MeterRegistry meterRegistry,
+                                                                   @Value("${config.cache.mongo-employees.maximum-size:10000}") long maximumSize,
+                                                                   @Value("${config.cache.mongo-employees.ttl:5m}") Duration ttl) {
+        return new ReactiveCache<>(buildCache(meterRegistry, "mongo-employees", maximumSize, ttl));
+    }
+
+    private static <K, V> AsyncCache<K, V> buildCache(MeterRegistry meterRegistry, String name, long maximumSize, Duration ttl) {
+        AsyncCache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), name);
+        return cache;
+    }
+}
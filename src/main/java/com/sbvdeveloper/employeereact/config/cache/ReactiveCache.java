@@ -0,0 +1,43 @@
+package com.sbvdeveloper.employeereact.config.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Adaptador reactivo sobre un AsyncCache de Caffeine. Solo hay una carga en curso por llave:
+ * las peticiones concurrentes por la misma llave esperan el mismo resultado en lugar de ir a la base de datos
+ */
+public class ReactiveCache<K, V> {
+
+    private final AsyncCache<K, V> cache;
+
+    public ReactiveCache(AsyncCache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    //Un resultado vacio no se guarda, la siguiente peticion vuelve a consultar
+    public Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        if (key == null) {
+            return loader.apply(null);
+        }
+        //El contexto del suscriptor (por ejemplo la transaccion) se propaga a la carga
+        return Mono.deferContextual(context -> Mono.fromFuture(
+                cache.get(key, (k, executor) -> loader.apply(k).contextWrite(context).toFuture()), true));
+    }
+
+    public void put(K key, V value) {
+        cache.put(key, CompletableFuture.completedFuture(value));
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+}
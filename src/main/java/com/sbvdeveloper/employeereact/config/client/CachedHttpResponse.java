@@ -0,0 +1,83 @@
+package com.sbvdeveloper.employeereact.config.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Respuesta HTTP de HttpResponseCache. Las que se pueden guardar llevan el cuerpo como arreglo de bytes (sin
+ * decodificar) y solo las cabeceras necesarias para decodificarlo y revalidarlo; las demas llevan el cuerpo como
+ * flujo (stream), se leen una sola vez y nunca se guardan. Se vuelve a convertir en ClientResponse para cada
+ * lector, con los lectores de mensajes del WebClient que la recibio
+ */
+public record CachedHttpResponse(int status, MediaType contentType, String etag, String cacheControl, byte[] body,
+                                 Flux<DataBuffer> stream, Instant expiresAt, List<HttpMessageReader<?>> readers) {
+
+    public boolean isNotModified() {
+        return status == 304;
+    }
+
+    public boolean isStreamed() {
+        return stream != null;
+    }
+
+    public boolean isFresh(Instant now) {
+        return expiresAt != null && now.isBefore(expiresAt);
+    }
+
+    public int weight() {
+        return body == null ? 0 : body.length;
+    }
+
+    //Misma representacion con otra frescura, por ejemplo la renovada por un 304
+    public CachedHttpResponse withExpiry(Instant expiresAt) {
+        return new CachedHttpResponse(status, contentType, etag, cacheControl, body, stream, expiresAt, readers);
+    }
+
+    //Drena el cuerpo en flujo que nadie va a leer: sin suscripcion la conexion no vuelve al pool
+    public void releaseBody() {
+        if (isStreamed()) {
+            stream.subscribe(DataBufferUtils::release, error -> {
+            });
+        }
+    }
+
+    public ClientResponse toClientResponse() {
+        return ClientResponse.create(HttpStatusCode.valueOf(status), readers)
+                .headers(headers -> {
+                    if (contentType != null) {
+                        headers.setContentType(contentType);
+                    }
+                    if (etag != null) {
+                        headers.setETag(etag);
+                    }
+                    if (body != null) {
+                        headers.setContentLength(body.length);
+                    }
+                })
+                .body(isStreamed() ? stream : Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                .build();
+    }
+
+    static CachedHttpResponse buffered(ResponseEntity<?> entity, byte[] body, List<HttpMessageReader<?>> readers) {
+        HttpHeaders headers = entity.getHeaders();
+        return new CachedHttpResponse(entity.getStatusCode().value(), headers.getContentType(), headers.getETag(),
+                headers.getCacheControl(), body, null, null, readers);
+    }
+
+    static CachedHttpResponse streamed(ResponseEntity<Flux<DataBuffer>> entity, List<HttpMessageReader<?>> readers) {
+        HttpHeaders headers = entity.getHeaders();
+        return new CachedHttpResponse(entity.getStatusCode().value(), headers.getContentType(), headers.getETag(),
+                headers.getCacheControl(), null, entity.getBody(), null, readers);
+    }
+}
@@ -0,0 +1,75 @@
+package com.sbvdeveloper.employeereact.config.client;
+
+import com.sbvdeveloper.employeereact.config.transport.NettyTransport;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cliente HTTP compartido por todos los WebClient salientes: un solo pool de conexiones con nombre y limites,
+ * que se crea una vez y se reutiliza entre peticiones. Las metricas del pool se publican como
+ * reactor.netty.connection.provider.* con la etiqueta name del pool
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamPolicyProperties.class)
+public class ClientHttpConfig {
+
+    public static final String POOL_NAME = "client-web";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider clientConnectionProvider(@Value("${config.client.pool.max-connections:50}") int maxConnections,
+                                                       @Value("${config.client.pool.pending-acquire-max-count:200}") int pendingAcquireMaxCount,
+                                                       @Value("${config.client.pool.pending-acquire-timeout:2s}") Duration pendingAcquireTimeout,
+                                                       @Value("${config.client.pool.max-idle-time:30s}") Duration maxIdleTime,
+                                                       @Value("${config.client.pool.max-life-time:5m}") Duration maxLifeTime,
+                                                       @Value("${config.client.pool.evict-in-background:30s}") Duration evictInBackground) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                //Peticiones en espera de una conexion libre: al superar el limite o el tiempo fallan de inmediato
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                //Las conexiones inactivas o muy antiguas se cierran antes de que el servidor o un balanceador las corte
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+    }
+
+    //Tambien lo aplica Spring Boot a los WebClient.Builder que crea (ClientHttpConnector sin reemplazo)
+    @Bean
+    public ReactorClientHttpConnector clientHttpConnector(ConnectionProvider clientConnectionProvider, LoopResources transportLoopResources,
+                                                          NettyTransport nettyTransport,
+                                                          @Value("${config.client.http2.enabled:true}") boolean http2) {
+        return new ReactorClientHttpConnector(httpClient(clientConnectionProvider, transportLoopResources, nettyTransport, http2));
+    }
+
+    //Corre en los event loops del servidor (TransportConfig); el keepalive TCP se configura con las opciones del transporte elegido
+    public static HttpClient httpClient(ConnectionProvider connectionProvider, LoopResources loopResources,
+                                        NettyTransport nettyTransport, boolean http2) {
+        HttpClient client = nettyTransport.keepAlive(HttpClient.create(connectionProvider).runOn(loopResources), 300, 60)
+                //Connection Timeout: is a period within which a connection between a client and a server must be established
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
+                //El Response Timeout se aplica por peticion con la politica de cada upstream (UpstreamPolicyProperties)
+                // Read and Write Timeout: A read timeout occurs when no data was read within a certain
+                //period of time, while the write timeout when a write operation cannot finish at a specific time
+                .doOnConnected(connection -> {
+                    connection.addHandlerLast(new ReadTimeoutHandler(5000, TimeUnit.MILLISECONDS));
+                    connection.addHandlerLast(new WriteTimeoutHandler(5000, TimeUnit.MILLISECONDS));
+                });
+        //HTTP/2 se negocia por ALPN en las URL https; en http sin TLS se sigue usando HTTP/1.1
+        return http2 ? client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11) : client;
+    }
+}
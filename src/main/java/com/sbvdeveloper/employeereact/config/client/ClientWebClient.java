@@ -5,10 +5,9 @@
  */
 package com.sbvdeveloper.employeereact.config.client;
 
-import io.netty.channel.ChannelOption;
-import io.netty.channel.epoll.EpollChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -17,20 +16,32 @@ import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
 
+import java.net.URI;
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
 
 /**
  * @author Santiago Betancur Villegas
  */
+@Slf4j
 @Component
 public class ClientWebClient {
 
+    //Un WebClient por URL base, construido una vez sobre el conector compartido (ClientHttpConfig)
+    private static final int MAX_BASE_URLS = 100;
+
+    private static final String TRANSACTIONS_URI = "/transactions?{attribute}={param}";
+
     private final WebClient.Builder webClientBuilder;
+    private final ReactorClientHttpConnector clientHttpConnector;
+    private final Cache<String, WebClient> webClients;
+    private final UpstreamResilience upstreamResilience;
+    private final HttpResponseCache responseCache;
     //private final CustomerRepository customerRepository;
 
 //    @Value("${URL.PRODUCT}")
@@ -40,25 +51,25 @@ public class ClientWebClient {
 //    private String urlTransaction;
 
     @Autowired
-    public ClientWebClient(WebClient.Builder webClientBuilder) {
+    public ClientWebClient(WebClient.Builder webClientBuilder, ReactorClientHttpConnector clientHttpConnector,
+                           UpstreamResilience upstreamResilience, HttpResponseCache responseCache) {
         this.webClientBuilder = webClientBuilder;
+        this.clientHttpConnector = clientHttpConnector;
+        this.upstreamResilience = upstreamResilience;
+        this.responseCache = responseCache;
+        this.webClients = Caffeine.newBuilder().maximumSize(MAX_BASE_URLS).build();
     }
 
-    //webClient requires HttpClient library to work propertly       
-    HttpClient client = HttpClient.create()
-            //Connection Timeout: is a period within which a connection between a client and a server must be established
-            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
-            .option(ChannelOption.SO_KEEPALIVE, true)
-            .option(EpollChannelOption.TCP_KEEPIDLE, 300)
-            .option(EpollChannelOption.TCP_KEEPINTVL, 60)
-            //Response Timeout: The maximun time we wait to receive a response after sending a request
-            .responseTimeout(Duration.ofSeconds(1))
-            // Read and Write Timeout: A read timeout occurs when no data was read within a certain 
-            //period of time, while the write timeout when a write operation cannot finish at a specific time
-            .doOnConnected(connection -> {
-                connection.addHandlerLast(new ReadTimeoutHandler(5000, TimeUnit.MILLISECONDS));
-                connection.addHandlerLast(new WriteTimeoutHandler(5000, TimeUnit.MILLISECONDS));
-            });
+    //El builder compartido (@LoadBalanced) no se modifica: cada URL base parte de una copia. El limite de lectura
+    //a memoria es el del cuerpo mas grande que guarda el cache, las respuestas mayores se decodifican como flujo
+    WebClient webClient(String baseUrl) {
+        return webClients.get(baseUrl, url -> webClientBuilder.clone()
+                .clientConnector(clientHttpConnector)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(responseCache.maxEntrySize()))
+                .baseUrl(url)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build());
+    }
 
 //    public Customer get(String code) throws BussinesRuleException, UnknownHostException {
 //        Optional<Customer> customer = customerRepository.findByCode(code);
@@ -119,47 +130,47 @@ public class ClientWebClient {
 //        return name;
 //    }
 
+    //GET con las politicas del upstream (UpstreamResilience). Los errores ya no se convierten en un flujo vacio:
+    //un upstream lento o caido se propaga al llamador (CallNotPermittedException si el circuito esta abierto),
+    //solo un 404 se responde como flujo vacio.
+    //Las respuestas pasan por HttpResponseCache antes de la resiliencia: un acierto no cuenta como llamada al upstream
     public <T> Flux<T> getExtraccionData(String searchedAttribute, String param, String URL, Class<T> responseType) {
-        WebClient webClient = webClientBuilder
-                .clientConnector(new ReactorClientHttpConnector(client))
-                .baseUrl(URL)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .build();
-
-        return webClient.method(HttpMethod.GET)
-                .uri(uriBuilder -> uriBuilder
-                        .path("/transactions")
-                        .queryParam(searchedAttribute, param)
-                        .build())
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, clientResponse ->
-                        clientResponse.createException().flatMap(Mono::error)
-                )
-                .bodyToFlux(responseType)
-                .onErrorResume(error -> {
-                    System.err.println("Error al consumir la API: " + error.getMessage());
-                    return Flux.empty(); // Devuelve un flujo vacío en caso de error
-                });
+        String upstream = upstream(URL);
+        Duration responseTimeout = upstreamResilience.policy(upstream).getResponseTimeout();
+        URI uri = new DefaultUriBuilderFactory(URL).expand(TRANSACTIONS_URI, searchedAttribute, param);
+        return responseCache.get(HttpMethod.GET, uri, conditionalHeaders -> upstreamResilience.get(upstream,
+                                () -> responseCache.read(webClient(URL).method(HttpMethod.GET)
+                                                //Con plantilla la metrica http.client.requests queda etiquetada por uri sin los valores de la consulta
+                                                .uri(TRANSACTIONS_URI, searchedAttribute, param)
+                                                .headers(conditionalHeaders)
+                                                .httpRequest(request -> request.<HttpClientRequest>getNativeRequest().responseTimeout(responseTimeout))
+                                                .retrieve())
+                                        .flux())
+                        .single())
+                .flatMapMany(response -> response.toClientResponse().bodyToFlux(responseType))
+                .onErrorResume(WebClientResponseException.NotFound.class, error -> Flux.empty())
+                .doOnError(error -> log.warn("Error al consumir la API {}: {}", URL, error.getMessage()));
     }
 
     public <T> Flux<T> getExtraccionData(String URL, Class<T> responseType) {
-        WebClient webClient = webClientBuilder
-                .clientConnector(new ReactorClientHttpConnector(client))
-                .baseUrl(URL)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .build();
-
-        return webClient.method(HttpMethod.GET)
-                .uri(uriBuilder -> uriBuilder.build()) // Sin parámetros adicionales
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, clientResponse ->
-                        clientResponse.createException().flatMap(Mono::error)
-                )
-                .bodyToFlux(responseType)
-                .onErrorResume(error -> {
-                    System.err.println("Error al consumir la API: " + error.getMessage());
-                    return Flux.empty();
-                });
+        String upstream = upstream(URL);
+        Duration responseTimeout = upstreamResilience.policy(upstream).getResponseTimeout();
+        return upstreamResilience.get(upstream, () -> webClient(URL).method(HttpMethod.GET)
+                        .uri(uriBuilder -> uriBuilder.build()) // Sin parámetros adicionales
+                        .httpRequest(request -> request.<HttpClientRequest>getNativeRequest().responseTimeout(responseTimeout))
+                        .retrieve()
+                        .onStatus(HttpStatusCode::isError, clientResponse ->
+                                clientResponse.createException().flatMap(Mono::error)
+                        )
+                        .bodyToFlux(responseType))
+                .onErrorResume(WebClientResponseException.NotFound.class, error -> Flux.empty())
+                .doOnError(error -> log.warn("Error al consumir la API {}: {}", URL, error.getMessage()));
+    }
+
+    //Las politicas se agrupan por host: con @LoadBalanced es el nombre del servicio
+    private static String upstream(String url) {
+        String host = URI.create(url).getHost();
+        return host == null ? url : host;
     }
 
 
@@ -0,0 +1,267 @@
+package com.sbvdeveloper.employeereact.config.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyExtractor;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache en memoria de respuestas HTTP de las llamadas GET salientes, por metodo y URI.
+ * Respeta Cache-Control (no-store no se guarda, no-cache siempre se revalida, max-age fija la frescura con el ttl
+ * como tope y valor por defecto) y revalida las entradas vencidas con If-None-Match cuando tienen ETag: un 304
+ * renueva la entrada sin volver a descargar el cuerpo. Las peticiones concurrentes por la misma llave comparten
+ * una sola llamada al upstream. El limite es en bytes de cuerpo y las entradas vencidas se conservan durante
+ * retention para poder revalidarlas. Solo se lee a memoria el cuerpo de las respuestas que se pueden guardar (200 sin
+ * no-store y con Content-Length hasta max-entry-size); el resto, y todas con el cache desactivado, pasan como flujo.
+ * Metricas: cache.* con cache=client-responses y client.cache.revalidations
+ */
+@Slf4j
+@Component
+public class HttpResponseCache {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final long maxEntryBytes;
+    private final Clock clock;
+    private final Cache<String, CachedHttpResponse> responses;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Counter notModified;
+    private final Counter modified;
+
+    public HttpResponseCache(MeterRegistry meterRegistry,
+                             @Value("${config.client.cache.enabled:true}") boolean enabled,
+                             @Value("${config.client.cache.ttl:1m}") Duration ttl,
+                             @Value("${config.client.cache.retention:10m}") Duration retention,
+                             @Value("${config.client.cache.max-size:64MB}") DataSize maxSize,
+                             @Value("${config.client.cache.max-entry-size:1MB}") DataSize maxEntrySize) {
+        this(meterRegistry, enabled, ttl, retention, maxSize, maxEntrySize, Clock.systemUTC());
+    }
+
+    HttpResponseCache(MeterRegistry meterRegistry, boolean enabled, Duration ttl, Duration retention, DataSize maxSize,
+                      DataSize maxEntrySize, Clock clock) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.clock = clock;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<String, CachedHttpResponse>weigher((key, response) -> key.length() + response.weight())
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "client-responses");
+        this.notModified = Counter.builder("client.cache.revalidations")
+                .tag("result", "not_modified")
+                .register(meterRegistry);
+        this.modified = Counter.builder("client.cache.revalidations")
+                .tag("result", "modified")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve la respuesta fresca guardada o ejecuta exchange, que recibe las cabeceras condicionales a agregar
+     * a la peticion y debe producir la respuesta leida con {@link #read(WebClient.ResponseSpec)}
+     */
+    public Mono<CachedHttpResponse> get(HttpMethod method, URI uri,
+                                        Function<Consumer<HttpHeaders>, Mono<CachedHttpResponse>> exchange) {
+        if (!enabled || method != HttpMethod.GET) {
+            return exchange.apply(headers -> {
+            });
+        }
+        String key = method.name() + " " + uri;
+        return Mono.defer(() -> {
+            CachedHttpResponse cached = responses.getIfPresent(key);
+            if (cached != null && cached.isFresh(clock.instant())) {
+                return Mono.just(cached);
+            }
+            //Una sola llamada en curso por llave, el resto espera su resultado
+            return inFlight.computeIfAbsent(key, k -> new InFlight(k, load(k, cached, exchange)))
+                    .join(() -> exchange.apply(headers -> {
+                    }));
+        }).doOnDiscard(CachedHttpResponse.class, CachedHttpResponse::releaseBody);
+    }
+
+    //Tamano maximo de un cuerpo guardado, tambien el maxInMemorySize de los WebClient que usan el cache
+    public int maxEntrySize() {
+        return (int) Math.min(maxEntryBytes, Integer.MAX_VALUE);
+    }
+
+    //Los errores HTTP se propagan como WebClientResponseException. Solo una respuesta que se puede guardar se lee
+    //completa a memoria; las demas conservan el cuerpo como flujo de DataBuffer para decodificarlo a medida que llega
+    public Mono<CachedHttpResponse> read(WebClient.ResponseSpec responseSpec) {
+        AtomicReference<List<HttpMessageReader<?>>> readers = new AtomicReference<>();
+        BodyExtractor<Flux<DataBuffer>, ClientHttpResponse> body = (response, context) -> {
+            readers.set(context.messageReaders());
+            return response.getBody();
+        };
+        return responseSpec.toEntityFlux(body)
+                .flatMap(entity -> {
+                    if (entity.getStatusCode().value() == 304) {
+                        return entity.getBody()
+                                .doOnNext(DataBufferUtils::release)
+                                .then(Mono.fromSupplier(() -> CachedHttpResponse.buffered(entity, EMPTY_BODY, readers.get())));
+                    }
+                    if (!isCacheable(entity.getStatusCode().value(), entity.getHeaders())) {
+                        return Mono.just(CachedHttpResponse.streamed(entity, readers.get()));
+                    }
+                    return DataBufferUtils.join(entity.getBody(), maxEntrySize())
+                            .map(buffer -> {
+                                byte[] bytes = new byte[buffer.readableByteCount()];
+                                buffer.read(bytes);
+                                DataBufferUtils.release(buffer);
+                                return bytes;
+                            })
+                            .defaultIfEmpty(EMPTY_BODY)
+                            .map(bytes -> CachedHttpResponse.buffered(entity, bytes, readers.get()));
+                });
+    }
+
+    //Se decide con las cabeceras, antes de leer el cuerpo: sin Content-Length no se sabe si cabe y pasa como flujo
+    private boolean isCacheable(int status, HttpHeaders headers) {
+        long contentLength = headers.getContentLength();
+        return enabled
+                && status == 200
+                && !directives(headers.getCacheControl()).contains("no-store")
+                && contentLength >= 0
+                && contentLength <= maxEntryBytes;
+    }
+
+    //Una respuesta descartada antes de llegar al InFlight (por ejemplo la peticion de respaldo que pierde) se drena
+    private Mono<CachedHttpResponse> load(String key, CachedHttpResponse stale,
+                                          Function<Consumer<HttpHeaders>, Mono<CachedHttpResponse>> exchange) {
+        String etag = stale == null ? null : stale.etag();
+        return exchange.apply(headers -> {
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                })
+                .map(response -> {
+                    if (response.isNotModified() && stale != null) {
+                        notModified.increment();
+                        CachedHttpResponse revalidated = stale.withExpiry(expiresAt(response.cacheControl()));
+                        responses.put(key, revalidated);
+                        return revalidated;
+                    }
+                    if (etag != null) {
+                        modified.increment();
+                    }
+                    store(key, response);
+                    return response;
+                })
+                .doOnDiscard(CachedHttpResponse.class, CachedHttpResponse::releaseBody);
+    }
+
+    private void store(String key, CachedHttpResponse response) {
+        String cacheControl = directives(response.cacheControl());
+        if (response.isStreamed() || response.status() != 200 || cacheControl.contains("no-store")
+                || response.body().length > maxEntryBytes) {
+            responses.invalidate(key);
+            return;
+        }
+        responses.put(key, response.withExpiry(expiresAt(response.cacheControl())));
+    }
+
+    //Momento en que la respuesta deja de estar fresca segun Cache-Control; sin max-age se usa el ttl
+    private Instant expiresAt(String cacheControl) {
+        Instant now = clock.instant();
+        String directives = directives(cacheControl);
+        if (directives.contains("no-cache")) {
+            return now;
+        }
+        Duration freshness = ttl;
+        for (String directive : directives.split(",")) {
+            String value = directive.trim();
+            if (value.startsWith("max-age=")) {
+                try {
+                    Duration maxAge = Duration.ofSeconds(Long.parseLong(value.substring("max-age=".length())));
+                    freshness = maxAge.compareTo(ttl) < 0 ? maxAge : ttl;
+                } catch (NumberFormatException e) {
+                    log.debug("max-age invalido en Cache-Control: {}", cacheControl);
+                }
+            }
+        }
+        return now.plus(freshness);
+    }
+
+    private static String directives(String cacheControl) {
+        return cacheControl == null ? "" : cacheControl.toLowerCase(Locale.ROOT);
+    }
+
+    //Llamada compartida por las peticiones que esperan la misma llave. Un cuerpo que pasa como flujo solo se puede
+    //leer una vez: lo toma el primero (claimed) y los demas repiten la llamada sin compartirla. Si nadie lo toma,
+    //porque todas las peticiones cancelaron antes de que llegara, se drena para que la conexion vuelva al pool
+    private final class InFlight {
+
+        private final Mono<CachedHttpResponse> response;
+        private final AtomicInteger waiters = new AtomicInteger();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final AtomicReference<CachedHttpResponse> loaded = new AtomicReference<>();
+
+        private InFlight(String key, Mono<CachedHttpResponse> call) {
+            //cache() no cancela la llamada aunque cancelen todas las peticiones: la respuesta llega igual
+            this.response = call
+                    .doOnNext(received -> {
+                        loaded.set(received);
+                        if (waiters.get() == 0) {
+                            releaseUnclaimed();
+                        }
+                    })
+                    .doFinally(signal -> inFlight.remove(key, this))
+                    .cache();
+        }
+
+        private Mono<CachedHttpResponse> join(Supplier<Mono<CachedHttpResponse>> repeat) {
+            return Mono.defer(() -> {
+                waiters.incrementAndGet();
+                return response
+                        .flatMap(received -> !received.isStreamed() || claimed.compareAndSet(false, true)
+                                ? Mono.just(received)
+                                : repeat.get())
+                        .doFinally(signal -> {
+                            if (waiters.decrementAndGet() == 0) {
+                                releaseUnclaimed();
+                            }
+                        });
+            });
+        }
+
+        private void releaseUnclaimed() {
+            CachedHttpResponse received = loaded.get();
+            if (received != null && received.isStreamed() && claimed.compareAndSet(false, true)) {
+                received.releaseBody();
+            }
+        }
+    }
+}
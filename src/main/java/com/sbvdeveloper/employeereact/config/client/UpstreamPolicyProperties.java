@@ -0,0 +1,97 @@
+package com.sbvdeveloper.employeereact.config.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Politicas de resiliencia de las llamadas salientes por upstream (host de la URL o nombre del servicio en el
+ * balanceador). Un upstream sin entrada propia usa defaults; una entrada propia es una politica completa y los
+ * valores que no indique toman los valores por defecto de esta clase.
+ * Ejemplo: config.client.resilience.upstreams[transactions-service].retry.max-retries=3
+ */
+@Data
+@ConfigurationProperties(prefix = "config.client.resilience")
+public class UpstreamPolicyProperties {
+
+    private UpstreamPolicy defaults = new UpstreamPolicy();
+
+    private Map<String, UpstreamPolicy> upstreams = new HashMap<>();
+
+    public UpstreamPolicy policy(String upstream) {
+        return upstreams.getOrDefault(upstream, defaults);
+    }
+
+    @Data
+    public static class UpstreamPolicy {
+
+        //Tiempo maximo hasta recibir la respuesta de cada intento
+        private Duration responseTimeout = Duration.ofSeconds(1);
+
+        private Retry retry = new Retry();
+
+        private Hedge hedge = new Hedge();
+
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        private Bulkhead bulkhead = new Bulkhead();
+    }
+
+    //Reintentos con backoff exponencial y jitter, solo para GET y antes de emitir el primer elemento
+    @Data
+    public static class Retry {
+
+        private int maxRetries = 2;
+
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        private Duration maxBackoff = Duration.ofSeconds(1);
+
+        //Fraccion aleatoria del backoff (0 a 1)
+        private double jitter = 0.5;
+    }
+
+    //Peticion de respaldo cuando la primera supera el percentil de latencia observado del upstream
+    @Data
+    public static class Hedge {
+
+        private boolean enabled = true;
+
+        private double percentile = 0.95;
+
+        //Espera usada mientras no hay suficientes muestras para el percentil
+        private Duration initialDelay = Duration.ofMillis(500);
+
+        private Duration minDelay = Duration.ofMillis(20);
+
+        private long minSamples = 100;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        private float failureRateThreshold = 50;
+
+        private float slowCallRateThreshold = 100;
+
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(1);
+
+        private int slidingWindowSize = 50;
+
+        private int minimumNumberOfCalls = 20;
+
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+    }
+
+    //Llamadas concurrentes por upstream; al llenarse se falla de inmediato, sin esperar en el event loop
+    @Data
+    public static class Bulkhead {
+
+        private int maxConcurrentCalls = 50;
+    }
+}
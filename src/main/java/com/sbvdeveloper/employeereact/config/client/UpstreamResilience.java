@@ -0,0 +1,190 @@
+package com.sbvdeveloper.employeereact.config.client;
+
+import com.sbvdeveloper.employeereact.config.client.UpstreamPolicyProperties.UpstreamPolicy;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Politicas de resiliencia de las llamadas GET salientes, por upstream:
+ * reintentos acotados con backoff exponencial y jitter, peticion de respaldo (hedging) cuando la primera supera el
+ * percentil de latencia observado, circuit breaker que falla de inmediato mientras esta abierto y bulkhead que limita
+ * las llamadas concurrentes. Metricas: resilience4j.circuitbreaker.*, resilience4j.bulkhead.*,
+ * client.upstream.latency, client.upstream.retries y client.upstream.hedges, todas con la etiqueta del upstream
+ */
+@Slf4j
+@Component
+public class UpstreamResilience {
+
+    private final UpstreamPolicyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    public UpstreamResilience(UpstreamPolicyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    public UpstreamPolicy policy(String upstream) {
+        return properties.policy(upstream);
+    }
+
+    public CircuitBreaker circuitBreaker(String upstream) {
+        return upstream(upstream).circuitBreaker;
+    }
+
+    //Solo para peticiones idempotentes (GET): un intento puede repetirse o duplicarse con el hedging.
+    //No se reintenta si ya se emitio algun elemento, para no repetir datos aguas abajo
+    public <T> Flux<T> get(String upstream, Supplier<Flux<T>> call) {
+        Upstream state = upstream(upstream);
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return state.hedged(call)
+                    .doOnNext(value -> emitted.set(true))
+                    .retryWhen(state.retry(emitted));
+        });
+    }
+
+    private Upstream upstream(String upstream) {
+        return upstreams.computeIfAbsent(upstream, name -> new Upstream(name, properties.policy(name)));
+    }
+
+    //Fallos atribuibles al upstream: errores 5xx, de conexion y timeouts. Los 4xx son errores del cliente
+    static boolean isUpstreamFailure(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    private final class Upstream {
+
+        private final String name;
+        private final UpstreamPolicy policy;
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+        private final Timer latency;
+        private final Counter retries;
+        private final Counter hedges;
+
+        private Upstream(String name, UpstreamPolicy policy) {
+            this.name = name;
+            this.policy = policy;
+            UpstreamPolicyProperties.CircuitBreaker breaker = policy.getCircuitBreaker();
+            this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(name, CircuitBreakerConfig.custom()
+                    .failureRateThreshold(breaker.getFailureRateThreshold())
+                    .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+                    .slowCallDurationThreshold(breaker.getSlowCallDurationThreshold())
+                    .slidingWindowSize(breaker.getSlidingWindowSize())
+                    .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                    .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+                    .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedNumberOfCallsInHalfOpenState())
+                    .recordException(UpstreamResilience::isUpstreamFailure)
+                    .ignoreExceptions(BulkheadFullException.class)
+                    .build());
+            //Sin espera por un permiso: esperar bloquearia el event loop
+            this.bulkhead = bulkheadRegistry.bulkhead(name, BulkheadConfig.custom()
+                    .maxConcurrentCalls(policy.getBulkhead().getMaxConcurrentCalls())
+                    .maxWaitDuration(Duration.ZERO)
+                    .build());
+            this.latency = Timer.builder("client.upstream.latency")
+                    .description("Latencia de cada intento exitoso contra el upstream")
+                    .tag("upstream", name)
+                    .publishPercentiles(policy.getHedge().getPercentile())
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(meterRegistry);
+            this.retries = Counter.builder("client.upstream.retries")
+                    .tag("upstream", name)
+                    .register(meterRegistry);
+            this.hedges = Counter.builder("client.upstream.hedges")
+                    .description("Peticiones de respaldo enviadas por superar el percentil de latencia")
+                    .tag("upstream", name)
+                    .register(meterRegistry);
+        }
+
+        //Un intento: bulkhead dentro del circuit breaker, asi un bulkhead lleno no abre el circuito
+        private <T> Flux<T> attempt(Supplier<Flux<T>> call) {
+            return Flux.defer(() -> {
+                        long start = System.nanoTime();
+                        return call.get()
+                                .doOnComplete(() -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+                    })
+                    .transformDeferred(BulkheadOperator.of(bulkhead))
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        }
+
+        //Si el primer intento no da ninguna senal antes del percentil de latencia se lanza un segundo intento,
+        //gana el primero que responda y el otro se cancela
+        private <T> Flux<T> hedged(Supplier<Flux<T>> call) {
+            if (!policy.getHedge().isEnabled()) {
+                return attempt(call);
+            }
+            return Flux.defer(() -> Flux.firstWithSignal(
+                    attempt(call),
+                    Mono.delay(hedgeDelay())
+                            .doOnNext(tick -> {
+                                hedges.increment();
+                                log.debug("Peticion de respaldo a {}", name);
+                            })
+                            .thenMany(attempt(call))));
+        }
+
+        private Duration hedgeDelay() {
+            UpstreamPolicyProperties.Hedge hedge = policy.getHedge();
+            if (latency.count() < hedge.getMinSamples()) {
+                return hedge.getInitialDelay();
+            }
+            for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                if (value.percentile() == hedge.getPercentile()) {
+                    Duration observed = Duration.ofNanos((long) value.value(TimeUnit.NANOSECONDS));
+                    return observed.compareTo(hedge.getMinDelay()) < 0 ? hedge.getMinDelay() : observed;
+                }
+            }
+            return hedge.getInitialDelay();
+        }
+
+        private Retry retry(AtomicBoolean emitted) {
+            UpstreamPolicyProperties.Retry retry = policy.getRetry();
+            return Retry.backoff(retry.getMaxRetries(), retry.getInitialBackoff())
+                    .maxBackoff(retry.getMaxBackoff())
+                    .jitter(retry.getJitter())
+                    .filter(error -> !emitted.get() && isUpstreamFailure(error))
+                    .doBeforeRetry(signal -> {
+                        retries.increment();
+                        log.debug("Reintento {} a {}: {}", signal.totalRetries() + 1, name, signal.failure().getMessage());
+                    })
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        }
+    }
+}
@@ -5,6 +5,8 @@
  */
 package com.sbvdeveloper.employeereact.config.common;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,14 +19,18 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class WebClientConfiguration {
 
     /**
-     * Elemento que permite manejar las peticiones externas para otras apis desde el WebClient
+     * Elemento que permite manejar las peticiones externas para otras apis desde el WebClient.
+     * Aplica los customizers de Spring Boot (observaciones http.client.requests, codecs) que el builder
+     * por defecto recibiria y que se pierden al reemplazarlo
      *
      * @return
      */
     @Bean
     @LoadBalanced
-    public WebClient.Builder loadBalancedWebClientBuilder() {
-        return WebClient.builder();
+    public WebClient.Builder loadBalancedWebClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+        WebClient.Builder builder = WebClient.builder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
     }
 
 }
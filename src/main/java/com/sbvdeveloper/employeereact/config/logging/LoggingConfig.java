@@ -0,0 +1,20 @@
+package com.sbvdeveloper.employeereact.config.logging;
+
+import io.micrometer.context.ContextRegistry;
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Copia el requestId del contexto de Reactor al MDC en cada operador, para que aparezca en todos los logs
+ * del flujo sin importar el hilo (requiere spring.reactor.context-propagation=auto)
+ */
+@Configuration
+public class LoggingConfig {
+
+    public LoggingConfig() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(ReactiveLogging.REQUEST_ID,
+                () -> MDC.get(ReactiveLogging.REQUEST_ID),
+                value -> MDC.put(ReactiveLogging.REQUEST_ID, value),
+                () -> MDC.remove(ReactiveLogging.REQUEST_ID));
+    }
+}
@@ -0,0 +1,55 @@
+package com.sbvdeveloper.employeereact.config.logging;
+
+import org.slf4j.Logger;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Operadores de log para flujos reactivos: un resumen por flujo (filas y tiempo) en lugar de una linea por
+ * elemento, y trazas por elemento en DEBUG limitadas a una por intervalo
+ */
+public final class ReactiveLogging {
+
+    public static final String REQUEST_ID = "requestId";
+
+    private ReactiveLogging() {
+    }
+
+    //Al terminar (completo, error o cancelado) escribe una sola linea con las filas emitidas y el tiempo transcurrido
+    public static <T> Function<Flux<T>, Flux<T>> summary(Logger log, String operation) {
+        return flux -> Flux.defer(() -> {
+            AtomicLong rows = new AtomicLong();
+            long start = System.nanoTime();
+            return flux
+                    .doOnNext(element -> rows.incrementAndGet())
+                    .doOnError(e -> log.warn("{} fallo tras {} filas: {}", operation, rows.get(), e.getMessage()))
+                    .doFinally(signal -> log.info("{} {} rows={} elapsedMs={}", operation, signal, rows.get(),
+                            (System.nanoTime() - start) / 1_000_000));
+        });
+    }
+
+    //Traza por elemento en DEBUG, como maximo una cada intervalo por flujo
+    public static <T> Function<Flux<T>, Flux<T>> sampled(Logger log, String operation, Duration interval) {
+        return flux -> {
+            if (!log.isDebugEnabled()) {
+                return flux;
+            }
+            return Flux.defer(() -> {
+                AtomicLong nextAllowed = new AtomicLong();
+                AtomicLong skipped = new AtomicLong();
+                return flux.doOnNext(element -> {
+                    long now = System.nanoTime();
+                    long allowed = nextAllowed.get();
+                    if (now >= allowed && nextAllowed.compareAndSet(allowed, now + interval.toNanos())) {
+                        log.debug("{} elemento={} omitidos={}", operation, element, skipped.getAndSet(0));
+                    } else {
+                        skipped.incrementAndGet();
+                    }
+                });
+            });
+        };
+    }
+}
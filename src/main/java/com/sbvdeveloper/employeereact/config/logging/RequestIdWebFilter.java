@@ -0,0 +1,35 @@
+package com.sbvdeveloper.employeereact.config.logging;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Asigna un id a cada peticion (o reutiliza el header X-Request-Id recibido si es valido) y lo deja en el contexto
+ * de Reactor, desde donde se propaga al MDC de los logs de todo el flujo reactivo
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdWebFilter implements WebFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    //El id se copia a la respuesta y a los logs: solo se acepta un valor corto sin espacios ni saltos de linea
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(REQUEST_ID_HEADER);
+        String requestId = header != null && VALID_REQUEST_ID.matcher(header).matches() ? header : UUID.randomUUID().toString();
+        exchange.getResponse().getHeaders().set(REQUEST_ID_HEADER, requestId);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(ReactiveLogging.REQUEST_ID, requestId));
+    }
+}
@@ -0,0 +1,31 @@
+package com.sbvdeveloper.employeereact.config.metrics;
+
+import com.sbvdeveloper.employeereact.service.diagnostics.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Envuelve un ConnectionFactory con r2dbc-proxy para medir cada sentencia del datasource indicado,
+    // contar los BEGIN/COMMIT/ROLLBACK y detectar las consultas lentas
+    public static ConnectionFactory instrument(ConnectionFactory connectionFactory, String datasource,
+                                               MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+        return ProxyConnectionFactory.builder(connectionFactory)
+                .listener(new QueryMetricsExecutionListener(meterRegistry, datasource))
+                .listener(new TransactionMetricsExecutionListener(meterRegistry, datasource))
+                .listener(new SlowQueryExecutionListener(slowQueryLog, datasource, connectionFactory))
+                .build();
+    }
+
+    // Limite de series por sentencia: si aparecen mas sentencias distintas que el maximo, las nuevas no se registran
+    @Bean
+    public MeterFilter r2dbcQueryCardinalityFilter(@Value("${config.metrics.r2dbc.max-statements:200}") int maxStatements) {
+        return MeterFilter.maximumAllowableTags(QueryMetricsExecutionListener.METRIC_NAME, "statement", maxStatements, MeterFilter.deny());
+    }
+}
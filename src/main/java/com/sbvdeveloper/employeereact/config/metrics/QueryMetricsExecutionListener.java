@@ -0,0 +1,43 @@
+package com.sbvdeveloper.employeereact.config.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+
+import java.util.stream.Collectors;
+
+/**
+ * Registra el tiempo de ejecucion de cada sentencia en el timer r2dbc.query con histograma de percentiles,
+ * etiquetado por datasource, sentencia normalizada y resultado
+ */
+public class QueryMetricsExecutionListener implements ProxyExecutionListener {
+
+    public static final String METRIC_NAME = "r2dbc.query";
+
+    private final Meter.MeterProvider<Timer> timers;
+    private final String datasource;
+
+    public QueryMetricsExecutionListener(MeterRegistry meterRegistry, String datasource) {
+        this.datasource = datasource;
+        this.timers = Timer.builder(METRIC_NAME)
+                .description("Tiempo de ejecucion de las sentencias R2DBC")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo execInfo) {
+        String sql = execInfo.getQueries().stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "));
+        timers.withTags(Tags.of(
+                        "datasource", datasource,
+                        "statement", SqlStatements.normalize(sql),
+                        "outcome", execInfo.isSuccess() ? "SUCCESS" : "ERROR"))
+                .record(execInfo.getExecuteDuration());
+    }
+}
@@ -0,0 +1,34 @@
+package com.sbvdeveloper.employeereact.config.metrics;
+
+import com.sbvdeveloper.employeereact.service.diagnostics.SlowQueryLog;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * Envia al registro de consultas lentas las sentencias que superan el umbral. El EXPLAIN se ejecuta sobre
+ * target (el pool sin proxy) para que no se mida ni se vuelva a detectar como lento
+ */
+public class SlowQueryExecutionListener implements ProxyExecutionListener {
+
+    private final SlowQueryLog slowQueryLog;
+    private final String datasource;
+    private final ConnectionFactory target;
+
+    public SlowQueryExecutionListener(SlowQueryLog slowQueryLog, String datasource, ConnectionFactory target) {
+        this.slowQueryLog = slowQueryLog;
+        this.datasource = datasource;
+        this.target = target;
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo execInfo) {
+        if (!slowQueryLog.isSlow(execInfo.getExecuteDuration())) {
+            return;
+        }
+        for (QueryInfo query : execInfo.getQueries()) {
+            slowQueryLog.record(datasource, target, query, execInfo.getExecuteDuration());
+        }
+    }
+}
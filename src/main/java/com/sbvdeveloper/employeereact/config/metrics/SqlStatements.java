@@ -0,0 +1,31 @@
+package com.sbvdeveloper.employeereact.config.metrics;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza las sentencias SQL para usarlas como tag de metricas: sin literales, sin espacios repetidos y con los
+ * INSERT de varias filas reducidos a la primera, para que cada sentencia genere una sola serie
+ */
+public final class SqlStatements {
+
+    static final int MAX_LENGTH = 200;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$])\\d+(?:\\.\\d+)?");
+    private static final Pattern VALUES_TUPLES = Pattern.compile("(\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+
+    private SqlStatements() {
+    }
+
+    public static String normalize(String sql) {
+        if (sql == null || sql.isBlank()) {
+            return "unknown";
+        }
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = VALUES_TUPLES.matcher(normalized).replaceAll("$1, ...");
+        return normalized.length() > MAX_LENGTH ? normalized.substring(0, MAX_LENGTH) : normalized;
+    }
+}
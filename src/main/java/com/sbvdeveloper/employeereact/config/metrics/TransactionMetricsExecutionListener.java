@@ -0,0 +1,48 @@
+package com.sbvdeveloper.employeereact.config.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.proxy.core.MethodExecutionInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.Connection;
+
+/**
+ * Cuenta en r2dbc.transactions cada BEGIN, COMMIT y ROLLBACK que se envia a la base de datos, etiquetado por
+ * datasource y operacion. Permite ver cuantas idas y vueltas de control de transaccion agrega cada flujo
+ */
+public class TransactionMetricsExecutionListener implements ProxyExecutionListener {
+
+    public static final String METRIC_NAME = "r2dbc.transactions";
+
+    private final Meter.MeterProvider<Counter> counters;
+    private final String datasource;
+
+    public TransactionMetricsExecutionListener(MeterRegistry meterRegistry, String datasource) {
+        this.datasource = datasource;
+        this.counters = Counter.builder(METRIC_NAME)
+                .description("Sentencias de control de transaccion enviadas por R2DBC")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionInfo executionInfo) {
+        if (!(executionInfo.getTarget() instanceof Connection)) {
+            return;
+        }
+        String operation = switch (executionInfo.getMethod().getName()) {
+            case "beginTransaction" -> "begin";
+            case "commitTransaction" -> "commit";
+            case "rollbackTransaction" -> "rollback";
+            default -> null;
+        };
+        if (operation != null) {
+            counters.withTags(Tags.of(
+                            "datasource", datasource,
+                            "operation", operation,
+                            "outcome", executionInfo.getThrown() == null ? "SUCCESS" : "ERROR"))
+                    .increment();
+        }
+    }
+}
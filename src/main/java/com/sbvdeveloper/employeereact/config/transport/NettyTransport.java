@@ -0,0 +1,77 @@
+package com.sbvdeveloper.employeereact.config.transport;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.socket.nio.NioChannelOption;
+import jdk.net.ExtendedSocketOptions;
+import org.springframework.util.ClassUtils;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Transporte de red de Netty que usara Reactor Netty, en su mismo orden de preferencia:
+ * io_uring (si la libreria esta en el classpath, perfil io_uring), epoll en Linux, kqueue en macOS y NIO
+ */
+public enum NettyTransport {
+
+    IO_URING,
+    EPOLL,
+    KQUEUE,
+    NIO;
+
+    private static final String IO_URING_CLASS = "io.netty.incubator.channel.uring.IOUring";
+    private static final String KQUEUE_CLASS = "io.netty.channel.kqueue.KQueue";
+
+    public boolean isNative() {
+        return this != NIO;
+    }
+
+    public static NettyTransport detect(boolean preferNative) {
+        if (!preferNative) {
+            return NIO;
+        }
+        if (isAvailable(IO_URING_CLASS)) {
+            return IO_URING;
+        }
+        if (Epoll.isAvailable()) {
+            return EPOLL;
+        }
+        if (isAvailable(KQUEUE_CLASS)) {
+            return KQUEUE;
+        }
+        return NIO;
+    }
+
+    //Motivo por el que epoll no se puede usar, para el reporte de arranque
+    public static Throwable epollUnavailabilityCause() {
+        return Epoll.unavailabilityCause();
+    }
+
+    //Keepalive TCP con la opcion propia de cada transporte: las opciones de epoll no existen en NIO y Netty
+    //solo las ignora con un aviso. En io_uring y kqueue se deja el keepalive con los tiempos del sistema
+    public HttpClient keepAlive(HttpClient client, int idleSeconds, int intervalSeconds) {
+        HttpClient keepAlive = client.option(ChannelOption.SO_KEEPALIVE, true);
+        return switch (this) {
+            case EPOLL -> keepAlive
+                    .option(EpollChannelOption.TCP_KEEPIDLE, idleSeconds)
+                    .option(EpollChannelOption.TCP_KEEPINTVL, intervalSeconds);
+            case NIO -> keepAlive
+                    .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPIDLE), idleSeconds)
+                    .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPINTERVAL), intervalSeconds);
+            default -> keepAlive;
+        };
+    }
+
+    //Las clases de io_uring y kqueue son opcionales: se consultan por reflexion para no cargarlas si no estan
+    private static boolean isAvailable(String className) {
+        ClassLoader classLoader = NettyTransport.class.getClassLoader();
+        if (!ClassUtils.isPresent(className, classLoader)) {
+            return false;
+        }
+        try {
+            return (Boolean) ClassUtils.forName(className, classLoader).getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sbvdeveloper.employeereact.config.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Event loops de Netty compartidos por el servidor WebFlux y el HttpClient de los WebClient salientes (ClientHttpConfig).
+ * Usa el transporte nativo disponible (io_uring, epoll o kqueue) y cae a NIO si no lo hay o si
+ * config.transport.prefer-native=false. El transporte elegido se informa al arrancar
+ */
+@Slf4j
+@Configuration
+public class TransportConfig {
+
+    private static final String THREAD_PREFIX = "reactor-http";
+
+    @Bean
+    public NettyTransport nettyTransport(@Value("${config.transport.prefer-native:true}") boolean preferNative,
+                                         @Value("${config.transport.worker-threads:0}") int workerThreads) {
+        NettyTransport transport = NettyTransport.detect(preferNative);
+        log.info("Transporte de red: {} (nativo preferido: {}, hilos de event loop: {})", transport, preferNative,
+                resolveWorkerThreads(workerThreads));
+        if (preferNative && !transport.isNative()) {
+            Throwable cause = NettyTransport.epollUnavailabilityCause();
+            log.warn("Transporte nativo no disponible, se usa NIO: {}", cause == null ? "sin libreria nativa" : cause.getMessage());
+        }
+        return transport;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources transportLoopResources(@Value("${config.transport.prefer-native:true}") boolean preferNative,
+                                                @Value("${config.transport.worker-threads:0}") int workerThreads) {
+        return new TransportLoopResources(LoopResources.create(THREAD_PREFIX, resolveWorkerThreads(workerThreads), true), preferNative);
+    }
+
+    //Reemplaza el ReactorResourceFactory de Spring Boot y NettyReactiveWebServerFactory ejecuta el servidor en sus
+    //LoopResources. Sin recursos globales: con ellos el factory usaria HttpResources e ignoraria estos event loops
+    @Bean
+    public ReactorResourceFactory reactorResourceFactory(LoopResources transportLoopResources) {
+        ReactorResourceFactory resourceFactory = new ReactorResourceFactory();
+        resourceFactory.setUseGlobalResources(false);
+        resourceFactory.setLoopResources(transportLoopResources);
+        return resourceFactory;
+    }
+
+    //0 o negativo: el valor por defecto de Reactor Netty (numero de nucleos, minimo 4)
+    private static int resolveWorkerThreads(int workerThreads) {
+        return workerThreads > 0 ? workerThreads : LoopResources.DEFAULT_IO_WORKER_COUNT;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sbvdeveloper.employeereact.config.transport;
+
+import io.netty.channel.EventLoopGroup;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * LoopResources compartidos por el servidor y los clientes que aplican la preferencia de transporte configurada:
+ * con preferNative en false se entregan grupos NIO aunque el llamador pida el transporte nativo
+ */
+class TransportLoopResources implements LoopResources {
+
+    private final LoopResources delegate;
+    private final boolean preferNative;
+
+    TransportLoopResources(LoopResources delegate, boolean preferNative) {
+        this.delegate = delegate;
+        this.preferNative = preferNative;
+    }
+
+    @Override
+    public EventLoopGroup onServer(boolean useNative) {
+        return delegate.onServer(useNative && preferNative);
+    }
+
+    @Override
+    public EventLoopGroup onServerSelect(boolean useNative) {
+        return delegate.onServerSelect(useNative && preferNative);
+    }
+
+    @Override
+    public EventLoopGroup onClient(boolean useNative) {
+        return delegate.onClient(useNative && preferNative);
+    }
+
+    @Override
+    public boolean daemon() {
+        return delegate.daemon();
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate.isDisposed();
+    }
+
+    @Override
+    public Mono<Void> disposeLater() {
+        return delegate.disposeLater();
+    }
+
+    @Override
+    public Mono<Void> disposeLater(Duration quietPeriod, Duration timeout) {
+        return delegate.disposeLater(quietPeriod, timeout);
+    }
+}
@@ -1,26 +1,99 @@
 package com.sbvdeveloper.employeereact.controller;
 
 import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.EmployeeBatchResult;
+import com.sbvdeveloper.employeereact.domain.EmployeeField;
+import com.sbvdeveloper.employeereact.domain.EmployeeView;
+import com.sbvdeveloper.employeereact.domain.LookupResult;
 import com.sbvdeveloper.employeereact.service.EmployeeService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 @RestController
 public class EmployeeController {
 
 
     private final EmployeeService employeeService;
 
+    @Value("${config.employees.page-size:500}")
+    private int pageSize;
+
+    @Value("${config.employees.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${config.employees.batch-size:500}")
+    private int batchSize;
+
+    @Value("${config.employees.max-lookup-ids:1000}")
+    private int maxLookupIds;
+
     public EmployeeController(EmployeeService employeeService) {
         this.employeeService = employeeService;
     }
 
+    //Un batch-size demasiado grande fallaria en cada carga masiva al superar el limite de parametros de PostgreSQL
+    @PostConstruct
+    public void validateBatchSize() {
+        if (batchSize <= 0 || batchSize > EmployeeService.MAX_CHUNK_SIZE) {
+            throw new IllegalStateException("config.employees.batch-size debe estar entre 1 y " + EmployeeService.MAX_CHUNK_SIZE
+                    + " (3 parametros por fila, 65535 como maximo por sentencia)");
+        }
+    }
+
+    //Sin parametros se mantiene la lista completa; con afterId/limit se responde una pagina por cursor,
+    //el cliente pide la siguiente pagina enviando como afterId el ultimo id recibido
     @GetMapping("/employees")
-    public ResponseEntity<Flux<Employee>> getAllEmployees() {
-        return new ResponseEntity<>(employeeService.getAllEmployees(), HttpStatus.OK);
+    public ResponseEntity<Flux<Employee>> getAllEmployees(@RequestParam(value = "afterId", required = false) Long afterId,
+                                                          @RequestParam(value = "limit", required = false) Integer limit) {
+        if (afterId == null && limit == null) {
+            return new ResponseEntity<>(employeeService.getAllEmployees(), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(employeeService.getEmployeesPage(afterId, resolveLimit(limit)), HttpStatus.OK);
+    }
+
+    //Proyeccion: ?fields=id,name lee de la base de datos y escribe en la respuesta solo esos campos
+    @GetMapping(value = "/employees", params = {"fields", "!ids"})
+    public ResponseEntity<Flux<EmployeeView>> getEmployeesFields(@RequestParam("fields") String fields,
+                                                                 @RequestParam(value = "afterId", required = false) Long afterId,
+                                                                 @RequestParam(value = "limit", required = false) Integer limit) {
+        Integer resolvedLimit = afterId == null && limit == null ? null : resolveLimit(limit);
+        return new ResponseEntity<>(employeeService.getEmployees(parseFields(fields), afterId, resolvedLimit), HttpStatus.OK);
+    }
+
+    //Varios ids en una sola consulta: ?ids=1,2,3 (admite fields). Responde un resultado por id en el orden pedido
+    @GetMapping(value = "/employees", params = "ids")
+    public ResponseEntity<Flux<LookupResult<Long, EmployeeView>>> getEmployeesByIds(@RequestParam("ids") List<Long> ids,
+                                                                                  @RequestParam(value = "fields", required = false) String fields) {
+        return new ResponseEntity<>(lookup(ids, fields), HttpStatus.OK);
+    }
+
+    //Misma busqueda con los ids en el cuerpo (arreglo JSON), para listas que no caben en la URL
+    @PostMapping("/employees/lookup")
+    public Flux<LookupResult<Long, EmployeeView>> lookupEmployees(@RequestBody List<Long> ids,
+                                                                  @RequestParam(value = "fields", required = false) String fields) {
+        return lookup(ids, fields);
+    }
+
+    //Flujo NDJSON: sin parametros recorre toda la tabla y cada empleado se escribe apenas llega, con memoria
+    //constante en el servidor; con afterId/limit responde la misma pagina por cursor que GET /employees
+    @GetMapping(value = "/employees", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EmployeeView> streamAllEmployees(@RequestParam(value = "afterId", required = false) Long afterId,
+                                                 @RequestParam(value = "limit", required = false) Integer limit) {
+        if (afterId == null && limit == null) {
+            return employeeService.streamAllEmployees(pageSize);
+        }
+        return employeeService.getEmployees(EnumSet.allOf(EmployeeField.class), afterId, resolveLimit(limit));
     }
 
     @GetMapping("/employees/secondary")
@@ -33,11 +106,22 @@ public class EmployeeController {
         return new ResponseEntity<>(employeeService.saveEmployee(employee), HttpStatus.CREATED);
     }
 
+    //Carga masiva: acepta un arreglo JSON o un flujo NDJSON y responde el resultado de cada bloque escrito
+    @PostMapping(value = "/employees/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EmployeeBatchResult> saveEmployees(@RequestBody Flux<Employee> employees) {
+        return employeeService.saveEmployees(employees, batchSize);
+    }
+
     @GetMapping("/employees/{id}")
     public ResponseEntity<Mono<Employee>> getEmployeeById(@PathVariable("id") Long id) {
         return new ResponseEntity<>(employeeService.getEmployeeById(id), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/employees/{id}", params = "fields")
+    public ResponseEntity<Mono<EmployeeView>> getEmployeeByIdFields(@PathVariable("id") Long id, @RequestParam("fields") String fields) {
+        return new ResponseEntity<>(employeeService.getEmployeeById(id, parseFields(fields)), HttpStatus.OK);
+    }
+
     @DeleteMapping("/employees/{id}")
     public Mono<ResponseEntity<Employee>> deleteEmployee(@PathVariable("id") Long id) {
         return employeeService.deleteEmployee(id)
@@ -52,4 +136,27 @@ public class EmployeeController {
                 .map(e -> new ResponseEntity<>(e, HttpStatus.OK))
                 .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
+
+    private Flux<LookupResult<Long, EmployeeView>> lookup(List<Long> ids, String fields) {
+        if (ids.size() > maxLookupIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Se permiten como maximo " + maxLookupIds + " ids");
+        }
+        Set<EmployeeField> projection = fields == null ? EnumSet.allOf(EmployeeField.class) : parseFields(fields);
+        return employeeService.getEmployeesByIds(ids, projection);
+    }
+
+    private static Set<EmployeeField> parseFields(String fields) {
+        try {
+            return EmployeeField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return pageSize;
+        }
+        return Math.min(limit, maxPageSize);
+    }
 }
@@ -0,0 +1,45 @@
+package com.sbvdeveloper.employeereact.controller.admin;
+
+import com.sbvdeveloper.employeereact.domain.BulkLoadResult;
+import com.sbvdeveloper.employeereact.service.bulk.EmployeeBulkLoadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Carga masiva por HTTP. Escribe directamente en la tabla sin autenticacion, por eso solo se registra
+ * cuando config.admin.employees.enabled=true (desactivado por defecto)
+ */
+@RestController
+@RequestMapping("/admin/employees")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "config.admin.employees", name = "enabled", havingValue = "true")
+public class EmployeeAdminController {
+
+    private final EmployeeBulkLoadService employeeBulkLoadService;
+
+    @Value("${config.seed.max-count:1000000}")
+    private long maxSeedCount;
+
+    //Copia el CSV (name,role) del cuerpo de la peticion directamente a la tabla con COPY
+    @PostMapping(value = "/copy", consumes = "text/csv")
+    public Mono<BulkLoadResult> copyCsv(@RequestBody Flux<DataBuffer> csv,
+                                        @RequestParam(value = "header", defaultValue = "true") boolean header) {
+        return employeeBulkLoadService.copyCsv(csv, header);
+    }
+
+    //Genera y copia N empleados sinteticos, como maximo config.seed.max-count por peticion
+    @PostMapping("/seed")
+    public Mono<BulkLoadResult> seed(@RequestParam("count") long count) {
+        if (count <= 0 || count > maxSeedCount) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "count debe estar entre 1 y " + maxSeedCount);
+        }
+        return employeeBulkLoadService.copyGenerated(count);
+    }
+}
@@ -0,0 +1,36 @@
+package com.sbvdeveloper.employeereact.controller.admin;
+
+import com.sbvdeveloper.employeereact.domain.QueryPlan;
+import com.sbvdeveloper.employeereact.domain.SlowQuery;
+import com.sbvdeveloper.employeereact.service.diagnostics.SlowQueryLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Sentencias lentas y sus planes. Expone el texto SQL y los planes sin autenticacion, por eso solo se registra
+ * cuando config.admin.slow-queries.enabled=true (desactivado por defecto)
+ */
+@RestController
+@RequestMapping("/admin/slow-queries")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "config.admin.slow-queries", name = "enabled", havingValue = "true")
+public class SlowQueryAdminController {
+
+    private final SlowQueryLog slowQueryLog;
+
+    //Ultimas sentencias que superaron el umbral, la mas reciente primero
+    @GetMapping
+    public Flux<SlowQuery> getSlowQueries() {
+        return Flux.fromIterable(slowQueryLog.getSlowQueries());
+    }
+
+    //Ultimos planes capturados con EXPLAIN (FORMAT JSON), uno por forma de sentencia
+    @GetMapping("/plans")
+    public Flux<QueryPlan> getPlans() {
+        return Flux.fromIterable(slowQueryLog.getPlans());
+    }
+}
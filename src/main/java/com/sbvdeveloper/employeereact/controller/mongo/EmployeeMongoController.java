@@ -1,14 +1,22 @@
 package com.sbvdeveloper.employeereact.controller.mongo;
 
+import com.sbvdeveloper.employeereact.domain.EmployeeField;
+import com.sbvdeveloper.employeereact.domain.LookupResult;
 import com.sbvdeveloper.employeereact.domain.mongo.EmployeeMongo;
+import com.sbvdeveloper.employeereact.domain.mongo.EmployeeMongoView;
 import com.sbvdeveloper.employeereact.service.mongo.EmployeeSyncService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/mongo")
 @RequiredArgsConstructor
@@ -16,11 +24,32 @@ public class EmployeeMongoController {
 
     private final EmployeeSyncService employeeSyncService;
 
+    @Value("${config.employees.max-lookup-ids:1000}")
+    private int maxLookupIds;
+
     @GetMapping("/employees")
     public Flux<EmployeeMongo> getAllEmployees() {
         return employeeSyncService.getAllEmployees();
     }
 
+    //Proyeccion: ?fields=id,name pide a Mongo y escribe en la respuesta solo esos campos
+    @GetMapping(value = "/employees", params = {"fields", "!ids"})
+    public Flux<EmployeeMongoView> getAllEmployeesFields(@RequestParam("fields") String fields) {
+        return employeeSyncService.getAllEmployees(parseFields(fields));
+    }
+
+
+    //Varios ids en una sola consulta: ?ids=a,b,c. Responde un resultado por id en el orden pedido
+    @GetMapping(value = "/employees", params = "ids")
+    public Flux<LookupResult<String, EmployeeMongo>> getEmployeesByIds(@RequestParam("ids") List<String> ids) {
+        return lookup(ids);
+    }
+
+    //Misma busqueda con los ids en el cuerpo (arreglo JSON)
+    @PostMapping("/employees/lookup")
+    public Flux<LookupResult<String, EmployeeMongo>> lookupEmployees(@RequestBody List<String> ids) {
+        return lookup(ids);
+    }
 
     @PostMapping("/employees")
     public ResponseEntity<Mono<EmployeeMongo>> saveEmployee(@RequestBody EmployeeMongo employee) {
@@ -32,6 +61,11 @@ public class EmployeeMongoController {
         return new ResponseEntity<>(employeeSyncService.getEmployeeById(id), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/employees/{id}", params = "fields")
+    public ResponseEntity<Mono<EmployeeMongoView>> getEmployeeByIdFields(@PathVariable("id") String id, @RequestParam("fields") String fields) {
+        return new ResponseEntity<>(employeeSyncService.getEmployeeById(id, parseFields(fields)), HttpStatus.OK);
+    }
+
 
     @DeleteMapping("/employees/{id}")
     public Mono<ResponseEntity<EmployeeMongo>> deleteEmployee(@PathVariable("id") String id) {
@@ -40,6 +74,12 @@ public class EmployeeMongoController {
                 .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
+    //Sincroniza de forma incremental los empleados de Postgres hacia Mongo y devuelve cuantos se escribieron
+    @PostMapping("/employees/sync")
+    public Mono<Long> syncEmployees() {
+        return employeeSyncService.syncEmployeesToMongo();
+    }
+
     //    //Responder de manera reactiva si se actualizo o no el empleado con ResponseEntity<
     @PutMapping("/employees/{id}")
     public Mono<ResponseEntity<EmployeeMongo>> updateEmployee(@PathVariable("id") String id, @RequestBody EmployeeMongo employee) {
@@ -48,4 +88,18 @@ public class EmployeeMongoController {
                 .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
+    private Flux<LookupResult<String, EmployeeMongo>> lookup(List<String> ids) {
+        if (ids.size() > maxLookupIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Se permiten como maximo " + maxLookupIds + " ids");
+        }
+        return employeeSyncService.getEmployeesByIds(ids);
+    }
+
+    private static Set<EmployeeField> parseFields(String fields) {
+        try {
+            return EmployeeField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
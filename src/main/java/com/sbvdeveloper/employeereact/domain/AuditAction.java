@@ -0,0 +1,12 @@
+package com.sbvdeveloper.employeereact.domain;
+
+/**
+ * Tipo de operacion registrada en la tabla audit_log
+ */
+public enum AuditAction {
+    CREATE,
+    UPSERT,
+    UPDATE,
+    DELETE,
+    BULK
+}
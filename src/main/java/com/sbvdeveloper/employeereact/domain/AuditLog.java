@@ -0,0 +1,41 @@
+package com.sbvdeveloper.employeereact.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de auditoria de una operacion sobre empleados
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("audit_log")
+public class AuditLog {
+
+    @Id
+    private Long id;
+    private AuditAction action;
+    @Column("employee_id")
+    private Long employeeId;
+    private String description;
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    //La fecha se toma al registrar el evento, no al escribir el lote
+    public static AuditLog of(AuditAction action, Long employeeId, String description) {
+        return AuditLog.builder()
+                .action(action)
+                .employeeId(employeeId)
+                .description(description)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.sbvdeveloper.employeereact.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una carga con el protocolo COPY: filas copiadas y tiempo empleado
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkLoadResult {
+
+    private long rows;
+    private long elapsedMillis;
+}
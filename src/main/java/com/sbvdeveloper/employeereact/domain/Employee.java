@@ -1,5 +1,6 @@
 package com.sbvdeveloper.employeereact.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,6 +34,9 @@ public class Employee implements Persistable<Long> {
     }
 
 
+    //Estado de persistencia de Spring Data, no forma parte del JSON: GET /employees devuelve los mismos campos
+    //en JSON y en NDJSON (EmployeeView)
+    @JsonIgnore
     @Override
     public boolean isNew() {
         return isNew;
@@ -0,0 +1,22 @@
+package com.sbvdeveloper.employeereact.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de escribir un bloque (chunk) de la carga masiva de empleados
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeBatchResult {
+
+    private long chunk;
+    private int received;
+    private long written;
+    private boolean success;
+    private String error;
+}
@@ -0,0 +1,57 @@
+package com.sbvdeveloper.employeereact.domain;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Campos de empleado que se pueden pedir con ?fields=. Es la lista blanca de columnas (Postgres) y campos (Mongo):
+ * solo estos nombres llegan a la consulta
+ */
+public enum EmployeeField {
+    ID("id"),
+    NAME("name"),
+    ROLE("role");
+
+    private final String column;
+
+    EmployeeField(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    //"id,name" -> {ID, NAME}; un campo desconocido lanza IllegalArgumentException
+    public static EnumSet<EmployeeField> parse(String fields) {
+        EnumSet<EmployeeField> result = EnumSet.noneOf(EmployeeField.class);
+        for (String field : fields.split(",")) {
+            String name = field.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            result.add(EnumSet.allOf(EmployeeField.class).stream()
+                    .filter(f -> f.column.equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Campo desconocido: " + name)));
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("Se debe indicar al menos un campo");
+        }
+        return result;
+    }
+
+    //Columnas en el orden de declaracion, asi cada combinacion de campos genera siempre la misma sentencia
+    public static String columns(Set<EmployeeField> fields) {
+        return EnumSet.copyOf(fields).stream().map(EmployeeField::getColumn).collect(Collectors.joining(", "));
+    }
+
+    public static EmployeeView project(Employee employee, Set<EmployeeField> fields) {
+        return new EmployeeView(
+                fields.contains(ID) ? employee.getId() : null,
+                fields.contains(NAME) ? employee.getName() : null,
+                fields.contains(ROLE) ? employee.getRole() : null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.sbvdeveloper.employeereact.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Modelo de lectura inmutable de un empleado: solo los datos que se exponen, sin el estado de persistencia (isNew)
+ * que lleva la entidad Employee. Con ?fields= los campos no pedidos quedan en null y no se escriben
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeView(Long id, String name, String role) {
+
+    public static EmployeeView from(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getName(), employee.getRole());
+    }
+}
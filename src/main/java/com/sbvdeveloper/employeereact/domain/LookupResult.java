@@ -0,0 +1,15 @@
+package com.sbvdeveloper.employeereact.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de una busqueda por varios ids: un elemento por id pedido, en el orden de la peticion.
+ * Los ids que no existen se reportan con found=false y sin employee
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LookupResult<K, T>(K id, boolean found, T employee) {
+
+    public static <K, T> LookupResult<K, T> of(K id, T employee) {
+        return employee == null ? new LookupResult<>(id, false, null) : new LookupResult<>(id, true, employee);
+    }
+}
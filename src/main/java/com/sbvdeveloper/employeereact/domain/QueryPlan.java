@@ -0,0 +1,26 @@
+package com.sbvdeveloper.employeereact.domain;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Plan de ejecucion (EXPLAIN FORMAT JSON) capturado la primera vez que una forma de sentencia fue lenta
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueryPlan {
+
+    private String datasource;
+    private String statement;
+    private long durationMillis;
+    @JsonRawValue
+    private String plan;
+    private Instant capturedAt;
+}
@@ -0,0 +1,25 @@
+package com.sbvdeveloper.employeereact.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Sentencia que supero el umbral de consulta lenta; los parametros solo llevan su tipo, nunca el valor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlowQuery {
+
+    private String datasource;
+    private String statement;
+    private List<String> parameters;
+    private long durationMillis;
+    private Instant executedAt;
+}
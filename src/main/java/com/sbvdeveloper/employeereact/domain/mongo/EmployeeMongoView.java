@@ -0,0 +1,21 @@
+package com.sbvdeveloper.employeereact.domain.mongo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sbvdeveloper.employeereact.domain.EmployeeField;
+
+import java.util.Set;
+
+/**
+ * Proyeccion de un EmployeeMongo para las respuestas con ?fields=: los campos no pedidos quedan en null y no se
+ * escriben. Las respuestas sin ?fields= siguen usando EmployeeMongo y conservan su formato
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeMongoView(String id, String name, String role) {
+
+    public static EmployeeMongoView from(EmployeeMongo employee, Set<EmployeeField> fields) {
+        return new EmployeeMongoView(
+                fields.contains(EmployeeField.ID) ? employee.getId() : null,
+                fields.contains(EmployeeField.NAME) ? employee.getName() : null,
+                fields.contains(EmployeeField.ROLE) ? employee.getRole() : null);
+    }
+}
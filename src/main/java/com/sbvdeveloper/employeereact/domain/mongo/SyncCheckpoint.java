@@ -0,0 +1,27 @@
+package com.sbvdeveloper.employeereact.domain.mongo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ultima posicion sincronizada (updated_at, id) de una tabla, permite retomar la sincronizacion tras un reinicio
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "sync_checkpoints")
+public class SyncCheckpoint {
+
+    @Id
+    private String id;
+    private LocalDateTime updatedAt;
+    private Long lastId;
+    private long synced;
+}
@@ -11,11 +11,11 @@ import reactor.core.publisher.Mono;
 public interface PrimaryEmployeeRepository extends ReactiveCrudRepository<Employee, Long> {
     Flux<Employee> findByRole(String role);
 
-    @Transactional
+    @Transactional(transactionManager = "primaryTransactionManager")
     @Modifying
     Mono<Void> deleteByRole(String role);
 
-    @Transactional
+    @Transactional(transactionManager = "primaryTransactionManager")
     @Modifying
     @Query("DELETE FROM employees WHERE id = :id")
     Mono<Void> deleteBId(Long id);
@@ -1,18 +1,41 @@
 package com.sbvdeveloper.employeereact.service;
 
 import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.EmployeeBatchResult;
+import com.sbvdeveloper.employeereact.domain.EmployeeField;
+import com.sbvdeveloper.employeereact.domain.EmployeeView;
+import com.sbvdeveloper.employeereact.domain.LookupResult;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Set;
+
 public interface EmployeeService {
+
+    //PostgreSQL admite como maximo 65535 parametros por sentencia y la carga masiva usa 3 por fila (id, name, role)
+    int MAX_CHUNK_SIZE = 65535 / 3;
+
     Flux<Employee> getAllEmployees();
 
+    Flux<Employee> getEmployeesPage(Long afterId, int limit);
+
+    Flux<EmployeeView> streamAllEmployees(int pageSize);
+
+    Flux<EmployeeView> getEmployees(Set<EmployeeField> fields, Long afterId, Integer limit);
+
     Flux<Employee> getAllEmployeesSecundary();
 
     Mono<Employee> getEmployeeById(Long id);
 
+    Mono<EmployeeView> getEmployeeById(Long id, Set<EmployeeField> fields);
+
+    Flux<LookupResult<Long, EmployeeView>> getEmployeesByIds(List<Long> ids, Set<EmployeeField> fields);
+
     Mono<Employee> saveEmployee(Employee employee);
 
+    Flux<EmployeeBatchResult> saveEmployees(Flux<Employee> employees, int chunkSize);
+
     Mono<Employee> updateEmployee(Long id, Employee employee);
 
     Mono<Employee> deleteEmployee(Long id);
@@ -1,15 +1,46 @@
 package com.sbvdeveloper.employeereact.service;
 
+import com.sbvdeveloper.employeereact.config.TransactionCallbacks;
+import com.sbvdeveloper.employeereact.config.cache.ReactiveCache;
+import com.sbvdeveloper.employeereact.config.logging.ReactiveLogging;
+import com.sbvdeveloper.employeereact.domain.AuditAction;
+import com.sbvdeveloper.employeereact.domain.AuditLog;
 import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.EmployeeBatchResult;
+import com.sbvdeveloper.employeereact.domain.EmployeeField;
+import com.sbvdeveloper.employeereact.domain.EmployeeView;
+import com.sbvdeveloper.employeereact.domain.LookupResult;
+import com.sbvdeveloper.employeereact.service.audit.AuditLogWriter;
+import com.sbvdeveloper.employeereact.service.loader.BatchLoader;
+import com.sbvdeveloper.employeereact.service.mapper.EmployeeRowMapper;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+@Slf4j
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
@@ -20,68 +51,337 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Qualifier("secondaryR2dbcEntityTemplate")
     private final R2dbcEntityTemplate secondaryR2dbcEntityTemplate;
 
+    private final ReactiveCache<Long, Employee> employeeCache;
+
+    private final AuditLogWriter auditLogWriter;
+
+    //Agrupa las consultas por id concurrentes que no estan en el cache en una sola consulta id = ANY
+    private final BatchLoader<Long, Employee> employeeLoader;
+
+
+    //Lecturas con mapeo manual (EmployeeRowMapper): las columnas van en el orden de EmployeeRowMapper.COLUMNS
+    private static final String SELECT_EMPLOYEES_SQL = "SELECT " + EmployeeRowMapper.COLUMNS + " FROM employees";
+
+    private static final String SELECT_EMPLOYEES_BY_IDS_SQL = SELECT_EMPLOYEES_SQL + " WHERE id = ANY(:ids)";
+
+    private static final String SELECT_FIRST_PAGE_SQL = SELECT_EMPLOYEES_SQL + " ORDER BY id LIMIT :limit";
+
+    private static final String SELECT_PAGE_SQL = SELECT_EMPLOYEES_SQL + " WHERE id > :afterId ORDER BY id LIMIT :limit";
+
+    private static final String UPSERT_EMPLOYEE_SQL = """
+            INSERT INTO employees (id, name, role) VALUES (:id, :name, :role)
+            ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, role = EXCLUDED.role
+            RETURNING id, name, role
+            """;
 
-    public EmployeeServiceImpl(R2dbcEntityTemplate primaryR2dbcEntityTemplate, R2dbcEntityTemplate secondaryR2dbcEntityTemplate) {
+    private static final String INSERT_EMPLOYEE_SQL = """
+            INSERT INTO employees (name, role) VALUES (:name, :role)
+            RETURNING id, name, role
+            """;
+
+    private static final String UPDATE_EMPLOYEE_SQL = """
+            UPDATE employees SET name = :name, role = :role WHERE id = :id
+            RETURNING id, name, role
+            """;
+
+    private static final String DELETE_EMPLOYEE_SQL = """
+            DELETE FROM employees WHERE id = :id
+            RETURNING id, name, role
+            """;
+
+
+    public EmployeeServiceImpl(R2dbcEntityTemplate primaryR2dbcEntityTemplate, R2dbcEntityTemplate secondaryR2dbcEntityTemplate,
+                               ReactiveCache<Long, Employee> employeeCache, AuditLogWriter auditLogWriter,
+                               @Value("${config.employees.batch-loader.window:2ms}") Duration batchWindow,
+                               @Value("${config.employees.batch-loader.max-batch-size:100}") int maxBatchSize,
+                               @Value("${config.employees.batch-loader.max-concurrent-batches:4}") int maxConcurrentBatches) {
         this.primaryR2dbcEntityTemplate = primaryR2dbcEntityTemplate;
         this.secondaryR2dbcEntityTemplate = secondaryR2dbcEntityTemplate;
+        this.employeeCache = employeeCache;
+        this.auditLogWriter = auditLogWriter;
+        //Los lotes llenan el cache: corren sin transaccion readOnly para que el enrutador los envie a la primaria,
+        //una lectura de la secundaria retrasada dejaria en el cache una fila vieja (o ya eliminada) durante todo el TTL
+        this.employeeLoader = new BatchLoader<>(this::selectEmployeesByIds,
+                Employee::getId, batchWindow, maxBatchSize, maxConcurrentBatches);
+    }
+
+    //El agrupador de lotes tiene su propia suscripcion, se libera al cerrar la aplicacion
+    @PreDestroy
+    public void stop() {
+        this.employeeLoader.dispose();
     }
 
     //La funcion de flatMap es transformar el objeto que se recibe en el parametro en otro objeto
     // y devolverlo como un Mono
 
+    //Lecturas de una sola sentencia: readOnly con SUPPORTS no envia BEGIN/COMMIT (la sentencia es atomica por si sola)
+    //y readOnly sigue enrutando la conexion a la secundaria
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(transactionManager = "primaryTransactionManager", readOnly = true, propagation = Propagation.SUPPORTS)
     public Flux<Employee> getAllEmployees() {
-        return this.primaryR2dbcEntityTemplate.select(Employee.class)
+        return this.primaryR2dbcEntityTemplate.getDatabaseClient()
+                .sql(SELECT_EMPLOYEES_SQL)
+                .map(EmployeeRowMapper.EMPLOYEE)
+                .all()
+                .transform(ReactiveLogging.sampled(log, "getAllEmployees", Duration.ofSeconds(1)))//Traza por elemento en DEBUG, una por segundo como maximo
+                .transform(ReactiveLogging.summary(log, "getAllEmployees"));//Una sola linea al terminar con filas y tiempo
+    }
+
+    //Paginacion por cursor (keyset): se filtra por id > afterId y se ordena por la llave primaria,
+    //de modo que cada pagina usa el indice y no depende de OFFSET
+    @Override
+    @Transactional(transactionManager = "primaryTransactionManager", readOnly = true, propagation = Propagation.SUPPORTS)
+    public Flux<Employee> getEmployeesPage(Long afterId, int limit) {
+        return this.selectPage(afterId, limit, EmployeeRowMapper.EMPLOYEE)
+                .doOnError(e -> log.warn("Error al obtener pagina de empleados: {}", e.getMessage()));
+    }
+
+    //Recorre toda la tabla pagina a pagina: solo se mantiene en memoria una pagina a la vez
+    //y la conexion se libera entre consultas. flatMapIterable con prefetch 1 pide la siguiente pagina solo cuando
+    //el cliente consumio la anterior (con el prefetch por defecto expand leeria hasta 256 paginas por adelantado).
+    //Cada fila se emite como EmployeeView, el modelo de lectura inmutable
+    @Override
+    public Flux<EmployeeView> streamAllEmployees(int pageSize) {
+        return this.selectPage(null, pageSize, EmployeeRowMapper.VIEW)
+                .collectList()
+                .expand(page -> page.size() < pageSize
+                        ? Mono.empty()
+                        : this.selectPage(page.get(page.size() - 1).id(), pageSize, EmployeeRowMapper.VIEW).collectList())
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    //Paginacion por cursor (keyset) con el mapeo indicado
+    private <T> Flux<T> selectPage(Long afterId, int limit, BiFunction<Row, RowMetadata, T> mapper) {
+        DatabaseClient.GenericExecuteSpec spec = afterId == null
+                ? this.primaryR2dbcEntityTemplate.getDatabaseClient().sql(SELECT_FIRST_PAGE_SQL)
+                : this.primaryR2dbcEntityTemplate.getDatabaseClient().sql(SELECT_PAGE_SQL).bind("afterId", afterId);
+        return spec.bind("limit", limit)
+                .map(mapper)
+                .all();
+    }
+
+    //Proyeccion (?fields=) en la base de datos: solo se leen y se envian las columnas pedidas.
+    //Sin afterId ni limit se devuelve la tabla completa, con alguno de ellos una pagina por cursor
+    @Override
+    @Transactional(transactionManager = "primaryTransactionManager", readOnly = true, propagation = Propagation.SUPPORTS)
+    public Flux<EmployeeView> getEmployees(Set<EmployeeField> fields, Long afterId, Integer limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(EmployeeField.columns(fields)).append(" FROM employees");
+        if (afterId != null) {
+            sql.append(" WHERE id > :afterId");
+        }
+        if (afterId != null || limit != null) {
+            sql.append(" ORDER BY id");
+        }
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+        }
+        DatabaseClient.GenericExecuteSpec spec = this.primaryR2dbcEntityTemplate.getDatabaseClient().sql(sql.toString());
+        if (afterId != null) {
+            spec = spec.bind("afterId", afterId);
+        }
+        if (limit != null) {
+            spec = spec.bind("limit", limit);
+        }
+        return spec.map(EmployeeRowMapper.projection(fields))
                 .all()
-                .doOnSubscribe(s -> System.out.println("Obteniendo empleados...Suscritos"))//Se ejecuta cuando se suscribe un observador
-                .doOnNext(e -> System.out.println("Empleado: " + e))//Se ejecuta cuando se recibe un elemento
-                .doOnComplete(() -> System.out.println("Empleados obtenidos correctamente...FIN"))//Se ejecuta cuando se completa la secuencia
-                .doOnError(e -> System.out.println("Error al obtener empleados: " + e.getMessage()));//Se ejecuta cuando se produce un error
+                .transform(ReactiveLogging.summary(log, "getEmployees"));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(transactionManager = "secondaryTransactionManager", readOnly = true, propagation = Propagation.SUPPORTS)
     public Flux<Employee> getAllEmployeesSecundary() {
-        return this.secondaryR2dbcEntityTemplate.select(Employee.class)
+        return this.secondaryR2dbcEntityTemplate.getDatabaseClient()
+                .sql(SELECT_EMPLOYEES_SQL)
+                .map(EmployeeRowMapper.EMPLOYEE)
                 .all()
-                .doOnError(e -> System.out.println("Error al obtener empleados secundarios: " + e.getMessage()));
+                .transform(ReactiveLogging.summary(log, "getAllEmployeesSecundary"));
     }
 
+    //Las consultas por id pasan por el cache: una sola carga en curso por id y el resto espera su resultado.
+    //Los fallos del cache que llegan juntos se agrupan en lotes (BatchLoader), una conexion por lote y no por id.
+    //Sin @Transactional: los fallos del cache se leen siempre de la primaria
     @Override
-    @Transactional(readOnly = true)
     public Mono<Employee> getEmployeeById(Long id) {
-        return this.primaryR2dbcEntityTemplate.select(Employee.class)
-                .matching(Query.query(Criteria.where("id").is(id)))
-                .one()
-                .doOnError(e -> System.out.println("Error al obtener empleado por ID: " + e.getMessage()));
+        return this.employeeCache.get(id, this.employeeLoader::load)
+                .doOnError(e -> log.warn("Error al obtener empleado por ID {}: {}", id, e.getMessage()));
     }
 
+    //La consulta por id se resuelve desde el cache con la fila completa y se proyecta en memoria
     @Override
-    @Transactional
+    public Mono<EmployeeView> getEmployeeById(Long id, Set<EmployeeField> fields) {
+        return this.getEmployeeById(id)
+                .map(employee -> EmployeeField.project(employee, fields));
+    }
+
+    //Busqueda de varios ids en una sola consulta (id = ANY): la respuesta sale en el orden de la peticion, con un
+    //resultado found=false por cada id que no existe. Se lee de la secundaria, por eso no escribe en el cache
+    @Override
+    @Transactional(transactionManager = "primaryTransactionManager", readOnly = true, propagation = Propagation.SUPPORTS)
+    public Flux<LookupResult<Long, EmployeeView>> getEmployeesByIds(List<Long> ids, Set<EmployeeField> fields) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return this.selectEmployeesByIds(distinctIds)
+                .collectMap(Employee::getId)
+                .flatMapIterable(found -> distinctIds.stream()
+                        .map(id -> {
+                            Employee employee = found.get(id);
+                            return LookupResult.of(id, employee == null ? null : EmployeeField.project(employee, fields));
+                        })
+                        .toList());
+    }
+
+    private Flux<Employee> selectEmployeesByIds(List<Long> ids) {
+        return this.primaryR2dbcEntityTemplate.getDatabaseClient()
+                .sql(SELECT_EMPLOYEES_BY_IDS_SQL)
+                .bind("ids", ids.toArray(new Long[0]))
+                .map(EmployeeRowMapper.EMPLOYEE)
+                .all();
+    }
+
+    //Upsert en un solo viaje a la base de datos: el INSERT ... ON CONFLICT evita la consulta previa
+    //y la carrera entre el SELECT y el INSERT cuando llegan dos POST con el mismo id
+    @Override
+    @Transactional(transactionManager = "primaryTransactionManager")
     public Mono<Employee> saveEmployee(Employee employee) {
-        // Verificar si el empleado ya existe en la base de datos
-        return this.primaryR2dbcEntityTemplate.select(Employee.class)
-                .matching(Query.query(Criteria.where("id").is(employee.getId())))
+        if (employee.getId() == null) {
+            // Sin id se deja que la secuencia BIGSERIAL lo genere
+            DatabaseClient.GenericExecuteSpec insert = this.primaryR2dbcEntityTemplate.getDatabaseClient()
+                    .sql(INSERT_EMPLOYEE_SQL);
+            insert = bindNullable(insert, "name", employee.getName());
+            insert = bindNullable(insert, "role", employee.getRole());
+            return insert
+                    .map(EmployeeRowMapper.EMPLOYEE)
+                    .one()
+                    .flatMap(this::refreshCache)
+                    .flatMap(saved -> this.audit(AuditAction.CREATE, saved, "Empleado creado"));
+        }
+        DatabaseClient.GenericExecuteSpec upsert = this.primaryR2dbcEntityTemplate.getDatabaseClient()
+                .sql(UPSERT_EMPLOYEE_SQL)
+                .bind("id", employee.getId());
+        upsert = bindNullable(upsert, "name", employee.getName());
+        upsert = bindNullable(upsert, "role", employee.getRole());
+        return upsert
+                .map(EmployeeRowMapper.EMPLOYEE)
                 .one()
-                .flatMap(existingEmployee -> {
-                    // Si el empleado existe, se actualiza
-                    existingEmployee.setName(employee.getName());
-                    existingEmployee.setRole(employee.getRole());
-                    return this.primaryR2dbcEntityTemplate.insert(existingEmployee); // Actualizar
+                .flatMap(this::refreshCache)
+                .flatMap(saved -> this.audit(AuditAction.UPSERT, saved, "Empleado guardado"));
+    }
+
+    //Escritura directa al cache con la fila devuelta por RETURNING, solo cuando la transaccion confirma:
+    //con rollback el cache no debe tener una fila que nunca se escribio
+    private Mono<Employee> refreshCache(Employee employee) {
+        return TransactionCallbacks.afterCommit(() -> this.employeeCache.put(employee.getId(), employee))
+                .thenReturn(employee);
+    }
+
+    private Mono<Void> invalidateCache(Long id) {
+        return TransactionCallbacks.afterCommit(() -> this.employeeCache.invalidate(id));
+    }
+
+    //La auditoria solo se encola, la escritura en audit_log ocurre en lotes fuera de la peticion.
+    //Se encola despues del commit: un rollback no deja un registro de un cambio que no ocurrio
+    private Mono<Employee> audit(AuditAction action, Employee employee, String description) {
+        return this.recordAudit(AuditLog.of(action, employee.getId(), description))
+                .thenReturn(employee);
+    }
+
+    private Mono<Void> recordAudit(AuditLog auditLog) {
+        return TransactionCallbacks.afterCommit(Mono.defer(() -> this.auditLogWriter.record(auditLog)));
+    }
+
+    //Carga masiva: el flujo se divide en bloques y cada bloque se escribe con una sola sentencia,
+    //cada bloque es atomico por si mismo y su resultado se informa sin detener los siguientes
+    @Override
+    public Flux<EmployeeBatchResult> saveEmployees(Flux<Employee> employees, int chunkSize) {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            return Flux.error(new IllegalArgumentException("El tamano de bloque debe estar entre 1 y " + MAX_CHUNK_SIZE));
+        }
+        return employees
+                .buffer(chunkSize)
+                .index()
+                .concatMap(chunk -> this.saveChunk(chunk.getT1(), chunk.getT2()));
+    }
+
+    //Las filas sin id van en un INSERT simple (la secuencia genera el id) y las que traen id en el upsert. Si fueran
+    //juntas, un id generado que coincide con una fila insertada con id explicito (que no avanza la secuencia)
+    //sobrescribiria a otro empleado; separadas, ese caso falla por la llave primaria. Ambas partes van en una
+    //sola sentencia (CTE) para que el bloque siga siendo atomico sin abrir una transaccion
+    private Mono<EmployeeBatchResult> saveChunk(long index, List<Employee> chunk) {
+        return Mono.defer(() -> {
+                    // ON CONFLICT no admite el mismo id dos veces en una sentencia, se conserva el ultimo
+                    List<Employee> rows = distinctById(chunk);
+                    StringJoiner inserts = new StringJoiner(", ");
+                    StringJoiner upserts = new StringJoiner(", ");
+                    for (int i = 0; i < rows.size(); i++) {
+                        if (rows.get(i).getId() == null) {
+                            inserts.add("(:name" + i + ", :role" + i + ")");
+                        } else {
+                            upserts.add("(:id" + i + ", :name" + i + ", :role" + i + ")");
+                        }
+                    }
+                    StringJoiner statements = new StringJoiner(", ", "WITH ", " ");
+                    StringJoiner written = new StringJoiner(" + ", "SELECT ", " AS written");
+                    if (inserts.length() > 0) {
+                        statements.add("inserted AS (INSERT INTO employees (name, role) VALUES " + inserts + " RETURNING id)");
+                        written.add("(SELECT count(*) FROM inserted)");
+                    }
+                    if (upserts.length() > 0) {
+                        statements.add("upserted AS (INSERT INTO employees (id, name, role) VALUES " + upserts
+                                + " ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, role = EXCLUDED.role RETURNING id)");
+                        written.add("(SELECT count(*) FROM upserted)");
+                    }
+                    DatabaseClient.GenericExecuteSpec spec = this.primaryR2dbcEntityTemplate.getDatabaseClient()
+                            .sql(statements.toString() + written);
+                    for (int i = 0; i < rows.size(); i++) {
+                        Employee employee = rows.get(i);
+                        if (employee.getId() != null) {
+                            spec = spec.bind("id" + i, employee.getId());
+                        }
+                        spec = bindNullable(spec, "name" + i, employee.getName());
+                        spec = bindNullable(spec, "role" + i, employee.getRole());
+                    }
+                    return spec.map((row, metadata) -> row.get("written", Long.class))
+                            .one()
+                            .flatMap(count -> Flux.fromIterable(rows)
+                                    .filter(employee -> employee.getId() != null)
+                                    .concatMap(employee -> this.invalidateCache(employee.getId()))
+                                    .then(Mono.just(count)))
+                            .flatMap(count -> this.recordAudit(AuditLog.of(AuditAction.BULK, null, "Carga masiva: bloque " + index + ", " + count + " filas"))
+                                    .thenReturn(count));
                 })
-                .switchIfEmpty(Mono.defer(() -> {
-                    // Si el empleado no existe, se crea uno nuevo
-                    employee.setIsNew(true);
-                    return this.primaryR2dbcEntityTemplate.insert(employee); // Crear
-                }));
+                .map(written -> EmployeeBatchResult.builder()
+                        .chunk(index)
+                        .received(chunk.size())
+                        .written(written)
+                        .success(true)
+                        .build())
+                .onErrorResume(e -> Mono.just(EmployeeBatchResult.builder()
+                        .chunk(index)
+                        .received(chunk.size())
+                        .success(false)
+                        .error(e.getMessage())
+                        .build()));
+    }
+
+    private static List<Employee> distinctById(List<Employee> chunk) {
+        Map<Object, Employee> rows = new LinkedHashMap<>();
+        for (Employee employee : chunk) {
+            rows.put(employee.getId() == null ? new Object() : employee.getId(), employee);
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
     }
 
 
     //Usa flatMap si tu transformación devuelve un Mono o Flux.
     //Usa map si tu transformación devuelve un objeto simple (sincrónico), por ejemplo, Mono.just("Hello").
     //Usa map cuando solo necesitas transformar datos sin realizar operaciones que devuelvan flujos.
-    @Transactional
+    @Transactional(transactionManager = "primaryTransactionManager")
     public Mono<Employee> saveEmployeeWithAdditionalLogic(Employee employee) {
         //Se usa cuando transformas un valor de un flujo directamente a otro valor, sin crear otro flujo reactivo.
         //Devuelve un flujo con el tipo transformado.
@@ -111,8 +411,8 @@ public class EmployeeServiceImpl implements EmployeeService {
                     //Usa .then: Cuando solo importa que la operación se complete, no el resultado.
                     return this.primaryR2dbcEntityTemplate.update(existingEmployee)
                             .then(
-                                    // Insertar un registro adicional en otra tabla después de la actualización
-                                    //this.primaryR2dbcEntityTemplate.insert(new AuditLog("Empleado actualizado", existingEmployee.getId()))
+                                    // Registrar la auditoria: se encola despues del commit y se escribe en lote, sin un INSERT adicional en la transaccion
+                                    this.recordAudit(AuditLog.of(AuditAction.UPDATE, existingEmployee.getId(), "Empleado actualizado"))
                             )
                             .thenReturn(existingEmployee); // Devolver el empleado actualizado
                 })
@@ -134,7 +434,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     //Ejemplo de flujo de procesamiento de empleados con R2dbcEntityTemplate, validando diferentes pasos
-    @Transactional
+    @Transactional(transactionManager = "primaryTransactionManager")
     public Mono<Employee> processEmployeeFlow(Employee employee) {
         return this.primaryR2dbcEntityTemplate.insert(employee) // Paso 1: Insertar
                 .flatMap(insertedEmployee -> {
@@ -150,41 +450,39 @@ public class EmployeeServiceImpl implements EmployeeService {
                                         .then(Mono.just(selectedEmployee)); // Devuelve el empleado actualizado
                             });
                 })
-                .doOnError(e -> {
-                    System.out.println("Error en el flujo: " + e.getMessage());
-                });
+                .doOnError(e -> log.warn("Error en el flujo: {}", e.getMessage()));
     }
 
 
+    //UPDATE ... RETURNING: un solo viaje a la base de datos, si no hay fila afectada el Mono queda vacio
+    //y el controlador responde 404
     @Override
-    @Transactional
+    @Transactional(transactionManager = "primaryTransactionManager")
     public Mono<Employee> updateEmployee(Long id, Employee employee) {
-        return this.primaryR2dbcEntityTemplate.select(Employee.class)
-                .matching(Query.query(Criteria.where("id").is(id)))
+        DatabaseClient.GenericExecuteSpec spec = this.primaryR2dbcEntityTemplate.getDatabaseClient()
+                .sql(UPDATE_EMPLOYEE_SQL)
+                .bind("id", id);
+        spec = bindNullable(spec, "name", employee.getName());
+        spec = bindNullable(spec, "role", employee.getRole());
+        return spec.map(EmployeeRowMapper.EMPLOYEE)
                 .one()
-                .flatMap(existingEmployee -> {
-                    // Si el empleado existe, actualizamos sus datos
-                    existingEmployee.setName(employee.getName());
-                    existingEmployee.setRole(employee.getRole());
-                    return this.primaryR2dbcEntityTemplate.update(existingEmployee); // Actualizar
-                })
-                .switchIfEmpty(Mono.error(new Exception("El empleado no existe para actualizar")));
+                .flatMap(this::refreshCache)
+                .switchIfEmpty(this.invalidateCache(id).then(Mono.empty()))
+                .flatMap(updated -> this.audit(AuditAction.UPDATE, updated, "Empleado actualizado"));
     }
 
+    //DELETE ... RETURNING devuelve el empleado eliminado sin consultarlo antes
     @Override
-    @Transactional
+    @Transactional(transactionManager = "primaryTransactionManager")
     public Mono<Employee> deleteEmployee(Long id) {
-        return this.primaryR2dbcEntityTemplate.select(Employee.class)
-                .matching(Query.query(Criteria.where("id").is(id)))
+        return this.primaryR2dbcEntityTemplate.getDatabaseClient()
+                .sql(DELETE_EMPLOYEE_SQL)
+                .bind("id", id)
+                .map(EmployeeRowMapper.EMPLOYEE)
                 .one()
-                .flatMap(employee ->
-                        // Si el empleado existe, proceder con la eliminación
-                        this.primaryR2dbcEntityTemplate.delete(Employee.class)
-                                .matching(Query.query(Criteria.where("id").is(id)))
-                                .all()
-                                .thenReturn(employee) // Devolver el empleado eliminado
-                )
-                .switchIfEmpty(Mono.error(new Exception("El empleado no existe para eliminar")));
+                .flatMap(deleted -> this.invalidateCache(id).thenReturn(deleted))
+                .switchIfEmpty(this.invalidateCache(id).then(Mono.empty()))
+                .flatMap(deleted -> this.audit(AuditAction.DELETE, deleted, "Empleado eliminado"));
     }
 
     //Ejemplo de consulta personalizada avanzada Spring Data R2DBC con R2dbcEntityTemplate
@@ -0,0 +1,148 @@
+package com.sbvdeveloper.employeereact.service.audit;
+
+import com.sbvdeveloper.employeereact.domain.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escribe la auditoria fuera del camino de la peticion: los registros se encolan en un buffer acotado
+ * y se insertan en lotes multi-fila en audit_log cuando se llena el lote o vence el intervalo.
+ * Si la cola se llena se aplica la politica configurada: DROP descarta el registro y CALLER_RUNS
+ * lo inserta directamente en el flujo de quien lo registra
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    public enum OverflowPolicy {
+        DROP,
+        CALLER_RUNS
+    }
+
+    private final R2dbcEntityTemplate primaryR2dbcEntityTemplate;
+    private final Sinks.Many<AuditLog> sink;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private final Counter droppedCounter;
+    private final Counter flushErrorCounter;
+    private final Timer flushTimer;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final OverflowPolicy overflowPolicy;
+
+    public AuditLogWriter(R2dbcEntityTemplate primaryR2dbcEntityTemplate, MeterRegistry meterRegistry,
+                          @Value("${config.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${config.audit.batch-size:500}") int batchSize,
+                          @Value("${config.audit.flush-interval:1s}") Duration flushInterval,
+                          @Value("${config.audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy) {
+        this.primaryR2dbcEntityTemplate = primaryR2dbcEntityTemplate;
+        this.sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<AuditLog>get(queueCapacity).get());
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        Gauge.builder("audit.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Registros de auditoria pendientes de escribir")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.dropped")
+                .description("Registros descartados por cola llena")
+                .register(meterRegistry);
+        this.flushErrorCounter = Counter.builder("audit.flush.errors")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.flush")
+                .description("Latencia de escritura de cada lote de auditoria")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        //fairBackpressure: solo se piden elementos a la cola cuando el lote anterior termino de escribirse
+        sink.asFlux()
+                .bufferTimeout(batchSize, flushInterval, true)
+                .concatMap(this::flush)
+                .doFinally(signal -> drained.countDown())
+                .subscribe();
+    }
+
+    //Vacia la cola pendiente antes de cerrar la aplicacion
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        synchronized (sink) {
+            sink.tryEmitComplete();
+        }
+        drained.await(flushInterval.toMillis() + 5000, TimeUnit.MILLISECONDS);
+    }
+
+    public Mono<Void> record(AuditLog auditLog) {
+        return Mono.defer(() -> {
+            queueDepth.incrementAndGet();
+            Sinks.EmitResult result;
+            synchronized (sink) {
+                result = sink.tryEmitNext(auditLog);
+            }
+            if (result.isSuccess()) {
+                return Mono.empty();
+            }
+            queueDepth.decrementAndGet();
+            if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+                return insert(List.of(auditLog)).then();
+            }
+            droppedCounter.increment();
+            return Mono.empty();
+        });
+    }
+
+    private Mono<Long> flush(List<AuditLog> batch) {
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return insert(batch)
+                            .doOnSuccess(rows -> flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+                })
+                .onErrorResume(e -> {
+                    flushErrorCounter.increment();
+                    log.error("Error al escribir {} registros de auditoria: {}", batch.size(), e.getMessage());
+                    return Mono.just(0L);
+                })
+                .doFinally(signal -> queueDepth.addAndGet(-batch.size()));
+    }
+
+    private Mono<Long> insert(List<AuditLog> batch) {
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < batch.size(); i++) {
+            values.add("(:action" + i + ", :employeeId" + i + ", :description" + i + ", :createdAt" + i + ")");
+        }
+        DatabaseClient.GenericExecuteSpec spec = this.primaryR2dbcEntityTemplate.getDatabaseClient()
+                .sql("INSERT INTO audit_log (action, employee_id, description, created_at) VALUES " + values);
+        for (int i = 0; i < batch.size(); i++) {
+            AuditLog auditLog = batch.get(i);
+            spec = spec.bind("action" + i, auditLog.getAction().name())
+                    .bind("createdAt" + i, auditLog.getCreatedAt());
+            spec = auditLog.getEmployeeId() == null
+                    ? spec.bindNull("employeeId" + i, Long.class)
+                    : spec.bind("employeeId" + i, auditLog.getEmployeeId());
+            spec = auditLog.getDescription() == null
+                    ? spec.bindNull("description" + i, String.class)
+                    : spec.bind("description" + i, auditLog.getDescription());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+}
@@ -0,0 +1,88 @@
+package com.sbvdeveloper.employeereact.service.bulk;
+
+import com.sbvdeveloper.employeereact.domain.BulkLoadResult;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Carga masiva de empleados con el protocolo COPY de PostgreSQL (r2dbc-postgresql copyIn).
+ * Los datos se envian en streaming, sin pasar por sentencias INSERT ni por el mapeo de entidades
+ */
+@Service
+public class EmployeeBulkLoadService {
+
+    private static final String COPY_CSV_SQL = "COPY employees (name, role) FROM STDIN WITH (FORMAT csv, HEADER %s)";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int LINES_PER_BUFFER = 1000;
+
+    private final R2dbcEntityTemplate primaryR2dbcEntityTemplate;
+    private final SyntheticEmployeeGenerator syntheticEmployeeGenerator;
+
+    public EmployeeBulkLoadService(R2dbcEntityTemplate primaryR2dbcEntityTemplate, SyntheticEmployeeGenerator syntheticEmployeeGenerator) {
+        this.primaryR2dbcEntityTemplate = primaryR2dbcEntityTemplate;
+        this.syntheticEmployeeGenerator = syntheticEmployeeGenerator;
+    }
+
+    //Copia un CSV (name,role) recibido como flujo de buffers, por ejemplo el cuerpo de una peticion
+    public Mono<BulkLoadResult> copyCsv(Flux<DataBuffer> csv, boolean header) {
+        return copy(String.format(COPY_CSV_SQL, header), csv.map(EmployeeBulkLoadService::toByteBuffer));
+    }
+
+    public Mono<BulkLoadResult> copyCsv(Path file, boolean header) {
+        return copyCsv(DataBufferUtils.read(file, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE), header);
+    }
+
+    //Genera N empleados sinteticos y los copia agrupando varias lineas por buffer
+    public Mono<BulkLoadResult> copyGenerated(long count) {
+        Flux<ByteBuffer> data = syntheticEmployeeGenerator.csvLines(count)
+                .buffer(LINES_PER_BUFFER)
+                .map(lines -> ByteBuffer.wrap(String.join("", lines).getBytes(StandardCharsets.UTF_8)));
+        return copy(String.format(COPY_CSV_SQL, false), data);
+    }
+
+    private Mono<BulkLoadResult> copy(String sql, Flux<ByteBuffer> data) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return this.primaryR2dbcEntityTemplate.getDatabaseClient()
+                    .inConnection(connection -> unwrap(connection).copyIn(sql, data))
+                    .map(rows -> BulkLoadResult.builder()
+                            .rows(rows)
+                            .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                            .build());
+        });
+    }
+
+    //La conexion llega envuelta por Spring y por el pool, copyIn solo existe en la conexion nativa
+    private static PostgresqlConnection unwrap(Connection connection) {
+        Object current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped && wrapped.unwrap() != current) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnection postgresqlConnection) {
+            return postgresqlConnection;
+        }
+        throw new IllegalStateException("COPY requiere una conexion de r2dbc-postgresql, se obtuvo " + connection.getClass().getName());
+    }
+
+    private static ByteBuffer toByteBuffer(DataBuffer dataBuffer) {
+        try {
+            byte[] bytes = new byte[dataBuffer.readableByteCount()];
+            dataBuffer.read(bytes);
+            return ByteBuffer.wrap(bytes);
+        } finally {
+            DataBufferUtils.release(dataBuffer);
+        }
+    }
+}
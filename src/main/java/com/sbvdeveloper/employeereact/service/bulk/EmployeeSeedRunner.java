@@ -0,0 +1,47 @@
+package com.sbvdeveloper.employeereact.service.bulk;
+
+import com.sbvdeveloper.employeereact.domain.BulkLoadResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Carga datos al iniciar la aplicacion cuando config.seed.enabled=true: un archivo CSV si se
+ * configura config.seed.csv, o config.seed.count empleados sinteticos en caso contrario
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "config.seed", name = "enabled", havingValue = "true")
+public class EmployeeSeedRunner implements ApplicationRunner {
+
+    private final EmployeeBulkLoadService employeeBulkLoadService;
+
+    @Value("${config.seed.csv:}")
+    private String csv;
+
+    @Value("${config.seed.count:100000}")
+    private long count;
+
+    @Value("${config.seed.max-count:1000000}")
+    private long maxCount;
+
+    public EmployeeSeedRunner(EmployeeBulkLoadService employeeBulkLoadService) {
+        this.employeeBulkLoadService = employeeBulkLoadService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (csv.isBlank() && (count <= 0 || count > maxCount)) {
+            throw new IllegalArgumentException("config.seed.count debe estar entre 1 y config.seed.max-count (" + maxCount + ")");
+        }
+        BulkLoadResult result = csv.isBlank()
+                ? employeeBulkLoadService.copyGenerated(count).block()
+                : employeeBulkLoadService.copyCsv(Path.of(csv), true).block();
+        log.info("Carga inicial de empleados: {}", result);
+    }
+}
@@ -0,0 +1,76 @@
+package com.sbvdeveloper.employeereact.service.bulk;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Genera filas CSV (name,role) de empleados sinteticos para pruebas de capacidad.
+ * Los roles se eligen segun un peso configurable, por ejemplo Developer:50,Tester:20
+ */
+@Component
+public class SyntheticEmployeeGenerator {
+
+    private final List<String> names;
+    private final String[] roles;
+    private final int[] cumulativeWeights;
+
+    public SyntheticEmployeeGenerator(@Value("${config.seed.names:Alice,Bob,Charlie,Diana,Eve,Frank,Grace,Hank}") String names,
+                                      @Value("${config.seed.roles:Developer:50,Tester:20,Analyst:10,Designer:8,Support:7,Manager:5}") String roles) {
+        this.names = Arrays.stream(names.split(",")).map(String::trim).filter(n -> !n.isEmpty()).toList();
+        String[] entries = Arrays.stream(roles.split(",")).map(String::trim).filter(r -> !r.isEmpty()).toArray(String[]::new);
+        if (this.names.isEmpty() || entries.length == 0) {
+            throw new IllegalArgumentException("config.seed.names y config.seed.roles no pueden estar vacios");
+        }
+        this.roles = new String[entries.length];
+        this.cumulativeWeights = new int[entries.length];
+        int total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            int separator = entries[i].lastIndexOf(':');
+            this.roles[i] = separator < 0 ? entries[i] : entries[i].substring(0, separator);
+            total = Math.addExact(total, separator < 0 ? 1 : weight(entries[i], entries[i].substring(separator + 1).trim()));
+            this.cumulativeWeights[i] = total;
+        }
+    }
+
+    //Cada peso debe ser un entero positivo: un peso no numerico o todos en cero harian fallar la generacion
+    private static int weight(String entry, String value) {
+        int weight;
+        try {
+            weight = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("config.seed.roles: el peso de '" + entry + "' debe ser un entero positivo");
+        }
+        if (weight <= 0) {
+            throw new IllegalArgumentException("config.seed.roles: el peso de '" + entry + "' debe ser un entero positivo");
+        }
+        return weight;
+    }
+
+    //Cada elemento es una linea CSV terminada en salto de linea, sin encabezado
+    public Flux<String> csvLines(long count) {
+        return Flux.range(0, Math.toIntExact(count))
+                .map(i -> csv(names.get(i % names.size()) + " " + (i + 1)) + "," + csv(nextRole()) + "\n");
+    }
+
+    private String nextRole() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return roles[i];
+            }
+        }
+        return roles[roles.length - 1];
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
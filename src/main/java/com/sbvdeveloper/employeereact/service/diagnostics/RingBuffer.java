@@ -0,0 +1,35 @@
+package com.sbvdeveloper.employeereact.service.diagnostics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Buffer circular acotado: al llenarse descarta el elemento mas antiguo
+ */
+class RingBuffer<T> {
+
+    private final int capacity;
+    private final Deque<T> elements;
+
+    RingBuffer(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.elements = new ArrayDeque<>(this.capacity);
+    }
+
+    synchronized void add(T element) {
+        if (elements.size() == capacity) {
+            elements.removeFirst();
+        }
+        elements.addLast(element);
+    }
+
+    //Copia con el elemento mas reciente primero
+    synchronized List<T> snapshot() {
+        List<T> copy = new ArrayList<>(elements);
+        Collections.reverse(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,174 @@
+package com.sbvdeveloper.employeereact.service.diagnostics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sbvdeveloper.employeereact.config.metrics.SqlStatements;
+import com.sbvdeveloper.employeereact.domain.QueryPlan;
+import com.sbvdeveloper.employeereact.domain.SlowQuery;
+import io.r2dbc.proxy.core.Binding;
+import io.r2dbc.proxy.core.Bindings;
+import io.r2dbc.proxy.core.BoundValue;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Statement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Registro de consultas lentas: guarda las ultimas N sentencias que superaron el umbral (con los parametros
+ * redactados) y, la primera vez que aparece cada forma de sentencia, captura su EXPLAIN (FORMAT JSON) en segundo
+ * plano sobre el pool sin proxy del mismo datasource
+ */
+@Slf4j
+@Component
+public class SlowQueryLog {
+
+    private static final List<String> EXPLAINABLE = List.of("select", "with", "insert", "update", "delete");
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final boolean explainEnabled;
+    private final Duration explainTimeout;
+    private final RingBuffer<SlowQuery> slowQueries;
+    private final RingBuffer<QueryPlan> plans;
+    //Formas de sentencia ya explicadas por datasource; acotado para no crecer sin limite
+    private final Cache<String, Boolean> explainedShapes;
+
+    public SlowQueryLog(@Value("${config.r2dbc.slow-query.enabled:true}") boolean enabled,
+                        @Value("${config.r2dbc.slow-query.threshold:200ms}") Duration threshold,
+                        @Value("${config.r2dbc.slow-query.capacity:100}") int capacity,
+                        @Value("${config.r2dbc.slow-query.explain.enabled:true}") boolean explainEnabled,
+                        @Value("${config.r2dbc.slow-query.explain.capacity:50}") int planCapacity,
+                        @Value("${config.r2dbc.slow-query.explain.timeout:5s}") Duration explainTimeout) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.explainEnabled = explainEnabled;
+        this.explainTimeout = explainTimeout;
+        this.slowQueries = new RingBuffer<>(capacity);
+        this.plans = new RingBuffer<>(planCapacity);
+        this.explainedShapes = Caffeine.newBuilder().maximumSize(1_000).build();
+    }
+
+    public boolean isSlow(Duration duration) {
+        return enabled && duration != null && duration.compareTo(threshold) >= 0;
+    }
+
+    //Se invoca desde el listener de r2dbc-proxy; no bloquea: el EXPLAIN se suscribe y termina por su cuenta
+    public void record(String datasource, ConnectionFactory target, QueryInfo query, Duration duration) {
+        String sql = query.getQuery();
+        Bindings bindings = query.getBindingsList().isEmpty() ? null : query.getBindingsList().get(0);
+        long durationMillis = duration.toMillis();
+
+        SlowQuery slowQuery = SlowQuery.builder()
+                .datasource(datasource)
+                .statement(sql)
+                .parameters(redact(bindings))
+                .durationMillis(durationMillis)
+                .executedAt(Instant.now())
+                .build();
+        slowQueries.add(slowQuery);
+        log.warn("Consulta lenta en {} ({} ms): {} parametros={}", datasource, durationMillis, sql, slowQuery.getParameters());
+
+        String shape = SqlStatements.normalize(sql);
+        if (explainEnabled && isExplainable(sql)
+                && explainedShapes.asMap().putIfAbsent(datasource + "|" + shape, Boolean.TRUE) == null) {
+            explain(datasource, target, sql, shape, bindings, durationMillis);
+        }
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueries.snapshot();
+    }
+
+    public List<QueryPlan> getPlans() {
+        return plans.snapshot();
+    }
+
+    //Los valores reales solo viven durante el EXPLAIN; lo que se guarda es el tipo de cada parametro
+    static List<String> redact(Bindings bindings) {
+        List<String> parameters = new ArrayList<>();
+        if (bindings == null) {
+            return parameters;
+        }
+        for (Binding binding : bindings.getIndexBindings()) {
+            parameters.add("$" + (((Integer) binding.getKey()) + 1) + "=" + describe(binding.getBoundValue()));
+        }
+        for (Binding binding : bindings.getNamedBindings()) {
+            parameters.add(binding.getKey() + "=" + describe(binding.getBoundValue()));
+        }
+        return parameters;
+    }
+
+    private static String describe(BoundValue boundValue) {
+        Object value = boundValue.isNull() ? null : boundValue.getValue();
+        if (value instanceof Parameter parameter) {
+            value = parameter.getValue();
+        }
+        return value == null ? "null" : "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    static boolean isExplainable(String sql) {
+        String start = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return EXPLAINABLE.stream().anyMatch(start::startsWith);
+    }
+
+    private void explain(String datasource, ConnectionFactory target, String sql, String shape, Bindings bindings, long durationMillis) {
+        Mono.usingWhen(target.create(),
+                        connection -> explainStatement(connection, sql, bindings),
+                        Connection::close)
+                .timeout(explainTimeout)
+                .subscribe(
+                        plan -> plans.add(QueryPlan.builder()
+                                .datasource(datasource)
+                                .statement(shape)
+                                .durationMillis(durationMillis)
+                                .plan(plan)
+                                .capturedAt(Instant.now())
+                                .build()),
+                        e -> {
+                            //Se permite reintentar la captura la proxima vez que la sentencia sea lenta
+                            explainedShapes.invalidate(datasource + "|" + shape);
+                            log.warn("No se pudo obtener el plan de {} en {}: {}", shape, datasource, e.getMessage());
+                        });
+    }
+
+    private static Mono<String> explainStatement(Connection connection, String sql, Bindings bindings) {
+        Statement statement = connection.createStatement("EXPLAIN (FORMAT JSON) " + sql);
+        if (bindings != null) {
+            for (Binding binding : bindings.getIndexBindings()) {
+                bind(statement, binding, (Integer) binding.getKey());
+            }
+            for (Binding binding : bindings.getNamedBindings()) {
+                BoundValue value = binding.getBoundValue();
+                if (value.isNull()) {
+                    statement.bindNull((String) binding.getKey(), value.getNullType());
+                } else {
+                    statement.bind((String) binding.getKey(), value.getValue());
+                }
+            }
+        }
+        return Flux.from(statement.execute())
+                .flatMap(result -> result.map((row, metadata) -> row.get(0, String.class)))
+                .next();
+    }
+
+    private static void bind(Statement statement, Binding binding, int index) {
+        BoundValue value = binding.getBoundValue();
+        if (value.isNull()) {
+            statement.bindNull(index, value.getNullType());
+        } else {
+            statement.bind(index, value.getValue());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.sbvdeveloper.employeereact.service.loader;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Agrupa las cargas por llave que llegan dentro de una ventana corta (o hasta un tamano maximo de lote) en una sola
+ * consulta, al estilo de un DataLoader. Las llaves repetidas dentro del mismo lote comparten el resultado, y cada
+ * fila devuelta se reparte al Mono que la espera; las llaves sin fila terminan vacias
+ */
+@Slf4j
+public class BatchLoader<K, V> {
+
+    private final Function<List<K>, Flux<V>> batchFunction;
+    private final Function<V, K> keyExtractor;
+    private final Sinks.Many<PendingLoad<K, V>> sink;
+    private final Disposable subscription;
+
+    /**
+     * @param batchFunction        consulta de un lote de llaves distintas
+     * @param keyExtractor         llave de cada fila devuelta por la consulta
+     * @param window               tiempo maximo que espera una llave antes de que salga su lote
+     * @param maxBatchSize         llaves por consulta como maximo
+     * @param maxConcurrentBatches consultas de lote en curso a la vez
+     */
+    public BatchLoader(Function<List<K>, Flux<V>> batchFunction, Function<V, K> keyExtractor, Duration window,
+                       int maxBatchSize, int maxConcurrentBatches) {
+        this.batchFunction = batchFunction;
+        this.keyExtractor = keyExtractor;
+        this.sink = Sinks.many().unicast().onBackpressureBuffer();
+        //fairBackpressure: si todas las consultas de lote estan ocupadas las llaves esperan en la cola
+        //y el siguiente lote sale lleno en cuanto se libera una
+        this.subscription = sink.asFlux()
+                .bufferTimeout(maxBatchSize, window, true)
+                .flatMap(this::dispatch, maxConcurrentBatches)
+                .subscribe();
+    }
+
+    //Deja de aceptar cargas (load falla con IllegalStateException) y cancela la suscripcion del agrupador;
+    //quien crea el BatchLoader debe llamarlo al cerrarse
+    public void dispose() {
+        synchronized (sink) {
+            sink.tryEmitComplete();
+        }
+        subscription.dispose();
+    }
+
+    public Mono<V> load(K key) {
+        return Mono.defer(() -> {
+            PendingLoad<K, V> pending = new PendingLoad<>(key, Sinks.one());
+            Sinks.EmitResult result;
+            synchronized (sink) {
+                result = sink.tryEmitNext(pending);
+            }
+            if (result.isFailure()) {
+                return Mono.error(new IllegalStateException("No se pudo encolar la carga de " + key + ": " + result));
+            }
+            return pending.result().asMono();
+        });
+    }
+
+    private Mono<Void> dispatch(List<PendingLoad<K, V>> batch) {
+        Map<K, List<Sinks.One<V>>> waiting = new LinkedHashMap<>();
+        for (PendingLoad<K, V> pending : batch) {
+            waiting.computeIfAbsent(pending.key(), key -> new ArrayList<>()).add(pending.result());
+        }
+        List<K> keys = List.copyOf(waiting.keySet());
+        log.debug("Lote de {} cargas con {} llaves distintas", batch.size(), keys.size());
+        return Flux.defer(() -> batchFunction.apply(keys))
+                .doOnNext(value -> {
+                    List<Sinks.One<V>> results = waiting.remove(keyExtractor.apply(value));
+                    if (results != null) {
+                        results.forEach(result -> result.tryEmitValue(value));
+                    }
+                })
+                .then()
+                //Las llaves que la consulta no devolvio no existen
+                .doOnSuccess(done -> waiting.values().forEach(results -> results.forEach(Sinks.One::tryEmitEmpty)))
+                .onErrorResume(e -> {
+                    waiting.values().forEach(results -> results.forEach(result -> result.tryEmitError(e)));
+                    return Mono.empty();
+                });
+    }
+
+    private record PendingLoad<K, V>(K key, Sinks.One<V> result) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.sbvdeveloper.employeereact.service.mapper;
+
+import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.EmployeeField;
+import com.sbvdeveloper.employeereact.domain.EmployeeView;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Mapeo fila -> empleado escrito a mano para las lecturas frecuentes, sin pasar por el MappingR2dbcConverter
+ * (reflexion y metadatos de la entidad por fila). Las columnas se leen por posicion, por eso toda consulta que use
+ * estos mapeos debe seleccionar COLUMNS en ese orden
+ */
+public final class EmployeeRowMapper {
+
+    public static final String COLUMNS = "id, name, role";
+
+    public static final BiFunction<Row, RowMetadata, Employee> EMPLOYEE = (row, metadata) ->
+            new Employee(row.get(0, Long.class), row.get(1, String.class), row.get(2, String.class), false);
+
+    public static final BiFunction<Row, RowMetadata, EmployeeView> VIEW = (row, metadata) ->
+            new EmployeeView(row.get(0, Long.class), row.get(1, String.class), row.get(2, String.class));
+
+    private EmployeeRowMapper() {
+    }
+
+    //Mapeo de una proyeccion (?fields=): la consulta selecciona EmployeeField.columns(fields) y los campos
+    //no pedidos quedan en null
+    public static BiFunction<Row, RowMetadata, EmployeeView> projection(Set<EmployeeField> fields) {
+        int[] positions = new int[EmployeeField.values().length];
+        int position = 0;
+        for (EmployeeField field : EmployeeField.values()) {
+            positions[field.ordinal()] = fields.contains(field) ? position++ : -1;
+        }
+        return (row, metadata) -> new EmployeeView(
+                read(row, positions[EmployeeField.ID.ordinal()], Long.class),
+                read(row, positions[EmployeeField.NAME.ordinal()], String.class),
+                read(row, positions[EmployeeField.ROLE.ordinal()], String.class));
+    }
+
+    private static <T> T read(Row row, int position, Class<T> type) {
+        return position < 0 ? null : row.get(position, type);
+    }
+}
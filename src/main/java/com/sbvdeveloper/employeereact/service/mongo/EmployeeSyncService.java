@@ -1,77 +1,254 @@
 package com.sbvdeveloper.employeereact.service.mongo;
 
+import com.sbvdeveloper.employeereact.config.cache.ReactiveCache;
+import com.sbvdeveloper.employeereact.domain.EmployeeField;
+import com.sbvdeveloper.employeereact.domain.LookupResult;
 import com.sbvdeveloper.employeereact.domain.mongo.EmployeeMongo;
+import com.sbvdeveloper.employeereact.domain.mongo.EmployeeMongoView;
+import com.sbvdeveloper.employeereact.domain.mongo.SyncCheckpoint;
 import com.sbvdeveloper.employeereact.repository.mongo.EmployeeMongoRepository;
-import com.sbvdeveloper.employeereact.repository.postgres.primary.PrimaryEmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 @Service
 public class EmployeeSyncService {
 
-    private final PrimaryEmployeeRepository employeeRepository;
     private final EmployeeMongoRepository employeeMongoRepository;
-
-    public EmployeeSyncService(PrimaryEmployeeRepository employeeRepository, EmployeeMongoRepository employeeMongoRepository) {
-        this.employeeRepository = employeeRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReactiveCache<String, EmployeeMongo> employeeMongoCache;
+    private final R2dbcEntityTemplate primaryR2dbcEntityTemplate;
+    private final AtomicBoolean syncRunning = new AtomicBoolean(false);
+
+    //Filas cambiadas y eliminadas (lapidas de employees_deleted, V6) despues de la posicion indicada, en un solo
+    //orden por (updated_at, id); se excluyen las mas recientes que safetyLag para no saltar transacciones que aun no
+    //confirman con un updated_at anterior. updated_at y deleted_at se fijan con clock_timestamp() al escribir, no al
+    //confirmar: una transaccion que dura mas que safetyLag puede confirmar filas por detras de la posicion guardada,
+    //por eso cada ejecucion vuelve a leer tambien la ventana syncOverlap anterior
+    private static final String CHANGED_EMPLOYEES_SQL = """
+            (SELECT id, name, role, updated_at, false AS deleted FROM employees
+             WHERE (updated_at, id) > (:updatedAt, :lastId)
+               AND updated_at < now() - (:safetyLagMillis * INTERVAL '1 millisecond')
+             ORDER BY updated_at, id
+             LIMIT :limit)
+            UNION ALL
+            (SELECT id, NULL, NULL, deleted_at, true FROM employees_deleted
+             WHERE (deleted_at, id) > (:updatedAt, :lastId)
+               AND deleted_at < now() - (:safetyLagMillis * INTERVAL '1 millisecond')
+             ORDER BY deleted_at, id
+             LIMIT :limit)
+            ORDER BY updated_at, id
+            LIMIT :limit
+            """;
+
+    private static final String EMPLOYEES_CHECKPOINT = "employees";
+
+    @Value("${config.sync.batch-size:500}")
+    private int syncBatchSize;
+
+    @Value("${config.sync.safety-lag:5s}")
+    private Duration syncSafetyLag;
+
+    //Se suma a safetyLag: una fila se pierde solo si su transaccion tarda en confirmar mas que safetyLag + syncOverlap
+    @Value("${config.sync.overlap:1m}")
+    private Duration syncOverlap;
+
+    public EmployeeSyncService(EmployeeMongoRepository employeeMongoRepository, ReactiveMongoTemplate reactiveMongoTemplate,
+                               ReactiveCache<String, EmployeeMongo> employeeMongoCache, R2dbcEntityTemplate primaryR2dbcEntityTemplate) {
         this.employeeMongoRepository = employeeMongoRepository;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.employeeMongoCache = employeeMongoCache;
+        this.primaryR2dbcEntityTemplate = primaryR2dbcEntityTemplate;
 
 
     }
 
-    @Transactional(readOnly = true)
+    //Sin @Transactional: cada metodo es una sola operacion de Mongo, atomica por documento, y el transactionManager
+    //por defecto es el de R2DBC, que solo agregaria un BEGIN/COMMIT en Postgres por cada llamada
     public Flux<EmployeeMongo> getAllEmployees() {
         return this.employeeMongoRepository.findAll();
     }
 
 
-    @Transactional(readOnly = true)
     public Mono<EmployeeMongo> getEmployeeById(String id) {
-        return this.employeeMongoRepository.findById(id);
+        return this.employeeMongoCache.get(id, this.employeeMongoRepository::findById);
+    }
+
+    //Proyeccion (?fields=) en Mongo: el servidor solo devuelve los campos pedidos, _id se excluye si no se pide
+    public Flux<EmployeeMongoView> getAllEmployees(Set<EmployeeField> fields) {
+        Query query = new Query();
+        fields.forEach(field -> query.fields().include(field.getColumn()));
+        if (!fields.contains(EmployeeField.ID)) {
+            query.fields().exclude(EmployeeField.ID.getColumn());
+        }
+        return this.reactiveMongoTemplate.find(query, EmployeeMongo.class)
+                .map(employee -> EmployeeMongoView.from(employee, fields));
+    }
+
+    //Varios ids en una sola consulta ($in): la respuesta sale en el orden de la peticion, con found=false
+    //por cada id que no existe
+    public Flux<LookupResult<String, EmployeeMongo>> getEmployeesByIds(List<String> ids) {
+        List<String> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return this.reactiveMongoTemplate.find(Query.query(Criteria.where("id").in(distinctIds)), EmployeeMongo.class)
+                .collectMap(EmployeeMongo::getId)
+                .flatMapIterable(found -> distinctIds.stream()
+                        .map(id -> LookupResult.of(id, found.get(id)))
+                        .toList());
+    }
+
+    //La consulta por id se resuelve desde el cache con el documento completo y se proyecta en memoria
+    public Mono<EmployeeMongoView> getEmployeeById(String id, Set<EmployeeField> fields) {
+        return this.getEmployeeById(id)
+                .map(employee -> EmployeeMongoView.from(employee, fields));
     }
 
-    @Transactional
     public Mono<EmployeeMongo> saveEmployee(EmployeeMongo employee) {
         return this.getEmployeeById(employee.getId())
-                .switchIfEmpty(Mono.just(employee).flatMap(p -> this.employeeMongoRepository.save(p)))
+                .switchIfEmpty(Mono.just(employee).flatMap(p -> this.employeeMongoRepository.save(p))
+                        .doOnNext(saved -> this.employeeMongoCache.put(saved.getId(), saved)))
                 .then(Mono.just(employee));
 //        return Mono.just(employee).flatMap(p -> this.employeeMongoRepository.save(p))
 //                .then(Mono.just(employee));
     }
 
 
-    @Transactional
+    //findAndModify actualiza y devuelve el documento en una sola operacion, vacio si no existe
     public Mono<EmployeeMongo> updateEmployee(String id, EmployeeMongo employee) {
-        return this.getEmployeeById(id)
-                .flatMap(p -> {
-                    p.setName(employee.getName());
-                    p.setRole(employee.getRole());
-                    return this.employeeMongoRepository.save(p).thenReturn(p);
-                })
-                .switchIfEmpty(Mono.error(new Exception("El empleado NO existe")));
+        return this.reactiveMongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(id)),
+                new Update().set("name", employee.getName()).set("role", employee.getRole()),
+                FindAndModifyOptions.options().returnNew(true),
+                EmployeeMongo.class)
+                .doOnSuccess(updated -> {
+                    if (updated == null) {
+                        this.employeeMongoCache.invalidate(id);
+                    } else {
+                        this.employeeMongoCache.put(id, updated);
+                    }
+                });
     }
 
 
-    @Transactional
+    //findAndRemove elimina y devuelve el documento en una sola operacion, vacio si no existe
     public Mono<EmployeeMongo> deleteEmployee(String id) {
-        return this.getEmployeeById(id)
-                .flatMap(employee -> this.employeeMongoRepository.deleteXId(employee.getId())
-                        .thenReturn(employee))
-                .switchIfEmpty(Mono.error(new Exception("El empleado NO existe")));
+        return this.reactiveMongoTemplate.findAndRemove(Query.query(Criteria.where("id").is(id)), EmployeeMongo.class)
+                .doOnSuccess(deleted -> this.employeeMongoCache.invalidate(id));
     }
 
 
-    //Responder de manera reactiva si se actualizo o no el empleado en la base de datos de mongo se mantine actualizada
-    @Transactional
-    public Flux<EmployeeMongo> syncEmployeesToMongo() {
-        return employeeMongoRepository.findAll()
-                .flatMap(employee -> {
-                    EmployeeMongo employeeMongo = new EmployeeMongo();
-                    employeeMongo.setName(employee.getName());
-                    employeeMongo.setRole(employee.getRole());
-                    return employeeMongoRepository.save(employeeMongo);
+    //Sincronizacion incremental Postgres -> Mongo: solo se leen las filas con (updated_at, id) posterior a la
+    //ultima posicion guardada menos syncOverlap, se escriben en bloques con upserts y borrados no ordenados
+    //(idempotentes, releer la ventana solo repite las mismas operaciones) y tras cada bloque se guarda la posicion,
+    //de modo que un reinicio retoma donde quedo. TRUNCATE no dispara el trigger de borrado y no se sincroniza
+    public Mono<Long> syncEmployeesToMongo() {
+        return Mono.defer(() -> {
+            if (!this.syncRunning.compareAndSet(false, true)) {
+                return Mono.error(new IllegalStateException("La sincronizacion de empleados ya esta en curso"));
+            }
+            return this.loadCheckpoint()
+                    .flatMap(checkpoint -> this.syncBatch(checkpoint, new SyncPosition(
+                            checkpoint.getUpdatedAt().minus(this.syncOverlap), 0L)))
+                    .expand(batch -> batch.size() < this.syncBatchSize
+                            ? Mono.empty()
+                            : this.syncBatch(batch.checkpoint(), batch.position()))
+                    .map(SyncBatch::size)
+                    .reduce(0L, Long::sum)
+                    .doFinally(signal -> this.syncRunning.set(false));
+        });
+    }
+
+    //Lee el bloque siguiente a position; la posicion guardada solo avanza, al releer la ventana no retrocede
+    private Mono<SyncBatch> syncBatch(SyncCheckpoint checkpoint, SyncPosition position) {
+        return this.primaryR2dbcEntityTemplate.getDatabaseClient()
+                .sql(CHANGED_EMPLOYEES_SQL)
+                .bind("updatedAt", position.updatedAt())
+                .bind("lastId", position.lastId())
+                .bind("safetyLagMillis", this.syncSafetyLag.toMillis())
+                .bind("limit", this.syncBatchSize)
+                .map((row, metadata) -> new ChangedEmployee(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("role", String.class),
+                        row.get("updated_at", LocalDateTime.class),
+                        Boolean.TRUE.equals(row.get("deleted", Boolean.class))))
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .flatMap(rows -> {
+                    ReactiveBulkOperations bulkOperations = this.reactiveMongoTemplate
+                            .bulkOps(BulkOperations.BulkMode.UNORDERED, EmployeeMongo.class);
+                    //El bloque no esta ordenado: por cada id solo se aplica su ultimo cambio (borrado o upsert)
+                    Map<Long, ChangedEmployee> latest = new LinkedHashMap<>();
+                    rows.forEach(row -> latest.put(row.id(), row));
+                    latest.values().forEach(row -> {
+                        Query byId = Query.query(Criteria.where("id").is(String.valueOf(row.id())));
+                        if (row.deleted()) {
+                            bulkOperations.remove(byId);
+                        } else {
+                            bulkOperations.upsert(byId, new Update().set("name", row.name()).set("role", row.role()));
+                        }
+                    });
+                    ChangedEmployee last = rows.get(rows.size() - 1);
+                    //Mongo guarda las fechas en milisegundos: se trunca aqui para que la posicion en memoria y la
+                    //leida tras un reinicio sean la misma (el truncado solo puede releer filas, nunca saltarlas)
+                    SyncPosition lastPosition = new SyncPosition(last.updatedAt().truncatedTo(ChronoUnit.MILLIS), last.id());
+                    SyncPosition stored = new SyncPosition(checkpoint.getUpdatedAt(), checkpoint.getLastId());
+                    SyncPosition saved = lastPosition.isAfter(stored) ? lastPosition : stored;
+                    SyncCheckpoint next = SyncCheckpoint.builder()
+                            .id(EMPLOYEES_CHECKPOINT)
+                            .updatedAt(saved.updatedAt())
+                            .lastId(saved.lastId())
+                            .synced(checkpoint.getSynced() + rows.size())
+                            .build();
+                    return bulkOperations.execute()
+                            .doOnNext(result -> rows.forEach(row -> this.employeeMongoCache.invalidate(String.valueOf(row.id()))))
+                            .then(this.reactiveMongoTemplate.save(next))
+                            .map(savedCheckpoint -> new SyncBatch(savedCheckpoint, lastPosition, rows.size()));
                 });
     }
+
+    private Mono<SyncCheckpoint> loadCheckpoint() {
+        return this.reactiveMongoTemplate.findById(EMPLOYEES_CHECKPOINT, SyncCheckpoint.class)
+                .defaultIfEmpty(SyncCheckpoint.builder()
+                        .id(EMPLOYEES_CHECKPOINT)
+                        .updatedAt(LocalDateTime.of(1970, 1, 1, 0, 0))
+                        .lastId(0L)
+                        .build());
+    }
+
+    private record ChangedEmployee(Long id, String name, String role, LocalDateTime updatedAt, boolean deleted) {
+    }
+
+    private record SyncPosition(LocalDateTime updatedAt, long lastId) {
+
+        boolean isAfter(SyncPosition other) {
+            int byTime = updatedAt.compareTo(other.updatedAt());
+            return byTime > 0 || (byTime == 0 && lastId > other.lastId());
+        }
+    }
+
+    private record SyncBatch(SyncCheckpoint checkpoint, SyncPosition position, int size) {
+    }
 }
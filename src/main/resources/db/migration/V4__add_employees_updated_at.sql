@@ -0,0 +1,20 @@
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+
+UPDATE employees SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE updated_at IS NULL;
+
+ALTER TABLE employees ALTER COLUMN updated_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE employees ALTER COLUMN updated_at SET NOT NULL;
+
+-- Marca de agua de la sincronizacion incremental: cada insercion o actualizacion renueva updated_at
+CREATE OR REPLACE FUNCTION set_employees_updated_at() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER employees_updated_at
+    BEFORE INSERT OR UPDATE ON employees
+    FOR EACH ROW EXECUTE FUNCTION set_employees_updated_at();
+
+CREATE INDEX IF NOT EXISTS idx_employees_updated_at_id ON employees (updated_at, id);
@@ -0,0 +1,20 @@
+-- Lapidas de la sincronizacion incremental: cada DELETE en employees deja el id y el momento del borrado,
+-- la sincronizacion con Mongo las lee con la misma marca de agua que updated_at
+CREATE TABLE IF NOT EXISTS employees_deleted (
+    id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION record_employees_deleted() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO employees_deleted (id, deleted_at) VALUES (OLD.id, clock_timestamp())
+    ON CONFLICT (id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER employees_deleted
+    AFTER DELETE ON employees
+    FOR EACH ROW EXECUTE FUNCTION record_employees_deleted();
+
+CREATE INDEX IF NOT EXISTS idx_employees_deleted_deleted_at_id ON employees_deleted (deleted_at, id);
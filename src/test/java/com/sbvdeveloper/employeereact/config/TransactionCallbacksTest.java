@@ -0,0 +1,80 @@
+package com.sbvdeveloper.employeereact.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionCallbacksTest {
+
+    private final List<String> events = new ArrayList<>();
+    private final TransactionalOperator transactionalOperator = TransactionalOperator.create(new RecordingTransactionManager());
+
+    @Test
+    void runsActionAfterCommit() {
+        Mono<String> work = TransactionCallbacks.afterCommit(() -> events.add("action"))
+                .then(Mono.fromCallable(() -> events.add("work")).thenReturn("ok"));
+
+        StepVerifier.create(work.as(transactionalOperator::transactional))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertEquals(List.of("work", "commit", "action"), events);
+    }
+
+    @Test
+    void skipsActionOnRollback() {
+        Mono<String> work = TransactionCallbacks.afterCommit(() -> events.add("action"))
+                .then(Mono.error(new IllegalStateException("fallo")));
+
+        StepVerifier.create(work.as(transactionalOperator::transactional))
+                .verifyError(IllegalStateException.class);
+
+        assertEquals(List.of("rollback"), events);
+    }
+
+    @Test
+    void runsActionImmediatelyWithoutTransaction() {
+        StepVerifier.create(TransactionCallbacks.afterCommit(() -> events.add("action")))
+                .verifyComplete();
+
+        assertTrue(events.contains("action"));
+    }
+
+    //Administrador de transacciones sin recursos que solo registra el commit y el rollback
+    private class RecordingTransactionManager extends AbstractReactiveTransactionManager {
+
+        @Override
+        protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+            return new Object();
+        }
+
+        @Override
+        protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction,
+                                     TransactionDefinition definition) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+                                      GenericReactiveTransaction status) {
+            return Mono.fromRunnable(() -> events.add("commit"));
+        }
+
+        @Override
+        protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+                                        GenericReactiveTransaction status) {
+            return Mono.fromRunnable(() -> events.add("rollback"));
+        }
+    }
+}
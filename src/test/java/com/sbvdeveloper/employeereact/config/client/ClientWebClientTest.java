@@ -0,0 +1,265 @@
+package com.sbvdeveloper.employeereact.config.client;
+
+import com.sbvdeveloper.employeereact.config.transport.NettyTransport;
+import com.sbvdeveloper.employeereact.domain.EmployeeView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpResources;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientWebClientTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private static final String EMPLOYEES_JSON = "[{\"id\":1,\"name\":\"Alice\",\"role\":\"Developer\"},{\"id\":2,\"name\":\"Bob\",\"role\":\"Tester\"}]";
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicReference<String> lastQuery = new AtomicReference<>();
+    private final AtomicInteger brokenCalls = new AtomicInteger();
+    private final AtomicInteger transactionCalls = new AtomicInteger();
+    private final AtomicReference<String> lastIfNoneMatch = new AtomicReference<>();
+    private final AtomicReference<String> cacheControl = new AtomicReference<>("no-cache");
+    private final AtomicReference<Duration> responseDelay = new AtomicReference<>(Duration.ZERO);
+    private final AtomicReference<String> responseBody = new AtomicReference<>(EMPLOYEES_JSON);
+
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private ClientWebClient clientWebClient;
+
+    @BeforeEach
+    void setUp() {
+        // Servidor HTTP local que cuenta las conexiones abiertas por el cliente
+        server = HttpServer.create()
+                .port(0)
+                .doOnConnection(connection -> connections.incrementAndGet())
+                .route(routes -> routes
+                        .get("/transactions", (request, response) -> {
+                            transactionCalls.incrementAndGet();
+                            lastQuery.set(request.uri());
+                            // Revalidacion: el ETag no cambia, se responde 304 sin cuerpo
+                            String ifNoneMatch = request.requestHeaders().get("If-None-Match");
+                            lastIfNoneMatch.set(ifNoneMatch);
+                            if (ETAG.equals(ifNoneMatch)) {
+                                return response.status(304).header("ETag", ETAG).header("Cache-Control", cacheControl.get()).send();
+                            }
+                            return response.header("Content-Type", "application/json")
+                                    .header("ETag", ETAG)
+                                    .header("Cache-Control", cacheControl.get())
+                                    .sendString(Mono.just(responseBody.get()).delayElement(responseDelay.get()));
+                        })
+                        .get("/employees", (request, response) ->
+                                response.header("Content-Type", "application/json").sendString(Mono.just(EMPLOYEES_JSON)))
+                        .get("/missing", (request, response) -> response.status(404).send())
+                        .get("/broken", (request, response) -> {
+                            brokenCalls.incrementAndGet();
+                            return response.status(500).send();
+                        }))
+                .bindNow();
+
+        connectionProvider = new ClientHttpConfig().clientConnectionProvider(2, 10, Duration.ofSeconds(2),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(30));
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(ClientHttpConfig.httpClient(connectionProvider,
+                HttpResources.get(), NettyTransport.detect(true), true));
+        // Reintentos rapidos y sin hedging para que las pruebas no dependan de la latencia
+        UpstreamPolicyProperties properties = new UpstreamPolicyProperties();
+        properties.getDefaults().getRetry().setInitialBackoff(Duration.ofMillis(10));
+        properties.getDefaults().getHedge().setEnabled(false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        clientWebClient = new ClientWebClient(WebClient.builder(), connector, new UpstreamResilience(properties, meterRegistry),
+                new HttpResponseCache(meterRegistry, true, Duration.ofMinutes(1), Duration.ofMinutes(10),
+                        DataSize.ofMegabytes(1), DataSize.ofKilobytes(64)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+        server.disposeNow();
+    }
+
+    @Test
+    void reusesOneWebClientPerBaseUrl() {
+        String baseUrl = baseUrl();
+
+        assertSame(clientWebClient.webClient(baseUrl), clientWebClient.webClient(baseUrl));
+        assertNotSame(clientWebClient.webClient(baseUrl), clientWebClient.webClient(baseUrl + "/employees"));
+    }
+
+    @Test
+    void reusesPooledConnectionsAcrossCalls() {
+        // Tres llamadas seguidas al mismo servidor viajan por la misma conexion del pool
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(clientWebClient.getExtraccionData("ibanAccount", "ES" + i, baseUrl(), EmployeeView.class))
+                    .expectNextMatches(e -> e.name().equals("Alice"))
+                    .expectNextMatches(e -> e.name().equals("Bob"))
+                    .verifyComplete();
+        }
+
+        assertEquals(1, connections.get());
+        assertEquals("/transactions?ibanAccount=ES2", lastQuery.get());
+    }
+
+    @Test
+    void servesFreshResponsesFromCache() {
+        cacheControl.set("max-age=60");
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(clientWebClient.getExtraccionData("ibanAccount", "ES1", baseUrl(), EmployeeView.class))
+                    .expectNextCount(2)
+                    .verifyComplete();
+        }
+
+        // La segunda lectura sale del cache sin llamar al upstream
+        assertEquals(1, transactionCalls.get());
+    }
+
+    @Test
+    void revalidatesStaleResponsesWithETag() {
+        // no-cache: la respuesta se guarda pero se revalida en cada uso
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(clientWebClient.getExtraccionData("ibanAccount", "ES1", baseUrl(), EmployeeView.class))
+                    .expectNextMatches(e -> e.name().equals("Alice"))
+                    .expectNextMatches(e -> e.name().equals("Bob"))
+                    .verifyComplete();
+        }
+
+        // La segunda peticion fue condicional y el 304 reutilizo el cuerpo guardado
+        assertEquals(2, transactionCalls.get());
+        assertEquals(ETAG, lastIfNoneMatch.get());
+    }
+
+    @Test
+    void coalescesConcurrentRequestsForTheSameUri() {
+        cacheControl.set("max-age=60");
+        responseDelay.set(Duration.ofMillis(200));
+
+        Flux<EmployeeView> concurrent = Flux.range(0, 5)
+                .flatMap(i -> clientWebClient.getExtraccionData("ibanAccount", "ES1", baseUrl(), EmployeeView.class));
+
+        StepVerifier.create(concurrent)
+                .expectNextCount(10)
+                .verifyComplete();
+
+        assertEquals(1, transactionCalls.get());
+    }
+
+    @Test
+    void streamsResponsesLargerThanTheMaxEntrySize() {
+        // ~400KB: mas que el limite por defecto de los codecs (256KB) y que max-entry-size (64KB en la prueba)
+        cacheControl.set("max-age=60");
+        responseBody.set(IntStream.range(0, 5000)
+                .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"Employee " + i + "\",\"role\":\"Developer role with a longer description\"}")
+                .collect(Collectors.joining(",", "[", "]")));
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(clientWebClient.getExtraccionData("ibanAccount", "ES1", baseUrl(), EmployeeView.class))
+                    .expectNextCount(5000)
+                    .verifyComplete();
+        }
+
+        // La respuesta no cabe en el cache: se decodifica como flujo y no se guarda
+        assertEquals(2, transactionCalls.get());
+    }
+
+    @Test
+    void doesNotCacheNoStoreResponses() {
+        cacheControl.set("no-store");
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(clientWebClient.getExtraccionData("ibanAccount", "ES1", baseUrl(), EmployeeView.class))
+                    .expectNextCount(2)
+                    .verifyComplete();
+        }
+
+        assertEquals(2, transactionCalls.get());
+    }
+
+    @Test
+    void returnsTheConnectionWhenTheOnlyWaiterCancels() throws InterruptedException {
+        // Cuerpo en flujo (no-store) que llega cuando la unica peticion que lo esperaba ya cancelo
+        cacheControl.set("no-store");
+        responseDelay.set(Duration.ofMillis(300));
+        SimpleMeterRegistry poolMetrics = new SimpleMeterRegistry();
+        Metrics.addRegistry(poolMetrics);
+        try {
+            StepVerifier.create(clientWebClient.getExtraccionData("ibanAccount", "ES1", baseUrl(), EmployeeView.class))
+                    .thenAwait(Duration.ofMillis(100))
+                    .thenCancel()
+                    .verify();
+
+            // Nadie tomo el cuerpo: se drena y la conexion deja de estar activa en el pool
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (activeConnections(poolMetrics) > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(poolMetrics.find("reactor.netty.connection.provider.active.connections").gauge() != null);
+            assertEquals(0, activeConnections(poolMetrics));
+
+            // El pool sigue disponible para la siguiente llamada
+            responseDelay.set(Duration.ZERO);
+            StepVerifier.create(clientWebClient.getExtraccionData("ibanAccount", "ES1", baseUrl(), EmployeeView.class))
+                    .expectNextCount(2)
+                    .verifyComplete();
+        } finally {
+            Metrics.removeRegistry(poolMetrics);
+        }
+    }
+
+    @Test
+    void getsDataFromBaseUrlWithoutParameters() {
+        StepVerifier.create(clientWebClient.getExtraccionData(baseUrl() + "/employees", EmployeeView.class))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void returnsEmptyOnNotFound() {
+        StepVerifier.create(clientWebClient.getExtraccionData(baseUrl() + "/missing", EmployeeView.class))
+                .verifyComplete();
+    }
+
+    @Test
+    void propagatesServerErrorAfterRetries() {
+        // El error ya no se convierte en un flujo vacio: se reintenta segun la politica y luego se propaga
+        StepVerifier.create(clientWebClient.getExtraccionData(baseUrl() + "/broken", EmployeeView.class))
+                .expectError(WebClientResponseException.InternalServerError.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(3, brokenCalls.get());
+    }
+
+    private static double activeConnections(SimpleMeterRegistry registry) {
+        return registry.find("reactor.netty.connection.provider.active.connections")
+                .tag("name", ClientHttpConfig.POOL_NAME)
+                .gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+}
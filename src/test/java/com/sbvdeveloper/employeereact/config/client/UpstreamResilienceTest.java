@@ -0,0 +1,126 @@
+package com.sbvdeveloper.employeereact.config.client;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UpstreamResilienceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private UpstreamPolicyProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UpstreamPolicyProperties();
+        properties.getDefaults().getRetry().setInitialBackoff(Duration.ofMillis(10));
+        properties.getDefaults().getHedge().setEnabled(false);
+    }
+
+    @Test
+    void retriesWithBackoffUntilSuccess() {
+        UpstreamResilience resilience = new UpstreamResilience(properties, meterRegistry);
+
+        // Dos fallos y luego la respuesta
+        StepVerifier.create(resilience.get("upstream", () -> calls.incrementAndGet() <= 2
+                        ? Flux.<String>error(new TimeoutException())
+                        : Flux.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertEquals(3, calls.get());
+        assertEquals(2, meterRegistry.get("client.upstream.retries").tag("upstream", "upstream").counter().count());
+    }
+
+    @Test
+    void doesNotRetryAfterFirstElement() {
+        UpstreamResilience resilience = new UpstreamResilience(properties, meterRegistry);
+
+        // Reintentar repetiria "a" aguas abajo
+        StepVerifier.create(resilience.get("upstream", () -> {
+                    calls.incrementAndGet();
+                    return Flux.concat(Flux.just("a"), Flux.error(new TimeoutException()));
+                }))
+                .expectNext("a")
+                .expectError(TimeoutException.class)
+                .verify();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void hedgesSlowRequest() {
+        UpstreamPolicyProperties.Hedge hedge = properties.getDefaults().getHedge();
+        hedge.setEnabled(true);
+        hedge.setInitialDelay(Duration.ofMillis(50));
+        UpstreamResilience resilience = new UpstreamResilience(properties, meterRegistry);
+
+        // El primer intento tarda 5 segundos, el de respaldo responde de inmediato
+        StepVerifier.create(resilience.get("upstream", () -> calls.incrementAndGet() == 1
+                        ? Flux.just("slow").delayElements(Duration.ofSeconds(5))
+                        : Flux.just("hedged")))
+                .expectNext("hedged")
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(1, meterRegistry.get("client.upstream.hedges").tag("upstream", "upstream").counter().count());
+    }
+
+    @Test
+    void circuitBreakerFailsFastWhileOpen() {
+        UpstreamPolicyProperties.CircuitBreaker breaker = properties.getDefaults().getCircuitBreaker();
+        breaker.setSlidingWindowSize(2);
+        breaker.setMinimumNumberOfCalls(2);
+        properties.getDefaults().getRetry().setMaxRetries(0);
+        UpstreamResilience resilience = new UpstreamResilience(properties, meterRegistry);
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(resilience.get("upstream", () -> {
+                        calls.incrementAndGet();
+                        return Flux.<String>error(new TimeoutException());
+                    }))
+                    .expectError(TimeoutException.class)
+                    .verify();
+        }
+
+        // Con el circuito abierto no se llama al upstream
+        StepVerifier.create(resilience.get("upstream", () -> {
+                    calls.incrementAndGet();
+                    return Flux.just("ok");
+                }))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+
+        assertEquals(2, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, resilience.circuitBreaker("upstream").getState());
+    }
+
+    @Test
+    void bulkheadRejectsCallsOverTheLimit() {
+        properties.getDefaults().getBulkhead().setMaxConcurrentCalls(1);
+        UpstreamResilience resilience = new UpstreamResilience(properties, meterRegistry);
+
+        // La primera llamada ocupa el unico permiso
+        Disposable pending = resilience.get("upstream", Flux::<String>never).subscribe();
+        try {
+            StepVerifier.create(resilience.get("upstream", () -> Flux.just("ok")))
+                    .expectError(BulkheadFullException.class)
+                    .verify();
+        } finally {
+            pending.dispose();
+        }
+    }
+}
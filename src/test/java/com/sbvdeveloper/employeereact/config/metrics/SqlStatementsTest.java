@@ -0,0 +1,39 @@
+package com.sbvdeveloper.employeereact.config.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlStatementsTest {
+
+    @Test
+    void normalizeRemovesLiteralsAndWhitespace() {
+        String sql = "SELECT id, name\n   FROM employees WHERE role = 'Developer' AND id > 42";
+
+        assertEquals("SELECT id, name FROM employees WHERE role = ? AND id > ?", SqlStatements.normalize(sql));
+    }
+
+    @Test
+    void normalizeKeepsBindMarkers() {
+        assertEquals("UPDATE employees SET name = $1, role = $2 WHERE id = $3 RETURNING id, name, role",
+                SqlStatements.normalize("UPDATE employees SET name = $1, role = $2 WHERE id = $3 RETURNING id, name, role"));
+    }
+
+    @Test
+    void normalizeCollapsesMultiRowInserts() {
+        String twoRows = SqlStatements.normalize("INSERT INTO employees (name, role) VALUES ($1, $2), ($3, $4)");
+        String threeRows = SqlStatements.normalize("INSERT INTO employees (name, role) VALUES ($1, $2), ($3, $4), ($5, $6)");
+
+        assertEquals("INSERT INTO employees (name, role) VALUES ($1, $2), ...", twoRows);
+        assertEquals(twoRows, threeRows);
+    }
+
+    @Test
+    void normalizeTruncatesLongStatements() {
+        String sql = "SELECT " + "column_name, ".repeat(50) + "id FROM employees";
+
+        assertTrue(SqlStatements.normalize(sql).length() <= SqlStatements.MAX_LENGTH);
+        assertEquals("unknown", SqlStatements.normalize("  "));
+    }
+}
@@ -0,0 +1,86 @@
+package com.sbvdeveloper.employeereact.config.transport;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultithreadEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.client.ReactorResourceFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NettyTransportTest {
+
+    @Test
+    void detectFallsBackToNioWhenNativeIsNotPreferred() {
+        assertEquals(NettyTransport.NIO, NettyTransport.detect(false));
+    }
+
+    @Test
+    void detectUsesEpollWhenAvailable() {
+        NettyTransport transport = NettyTransport.detect(true);
+
+        // En Linux con la libreria nativa se elige un transporte nativo
+        assertTrue(!Epoll.isAvailable() || transport.isNative());
+    }
+
+    @Test
+    void loopResourcesHandOutNioGroupsWhenNativeIsNotPreferred() {
+        TransportLoopResources loopResources = new TransportLoopResources(LoopResources.create("transport-test", 1, true), false);
+        try {
+            // El llamador pide el transporte nativo pero la configuracion lo desactiva
+            EventLoopGroup group = loopResources.onClient(true);
+
+            assertInstanceOf(NioEventLoopGroup.class, group);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    void serverRunsOnConfiguredEventLoops() {
+        TransportConfig transportConfig = new TransportConfig();
+        LoopResources loopResources = transportConfig.transportLoopResources(false, 2);
+        ReactorResourceFactory resourceFactory = transportConfig.reactorResourceFactory(loopResources);
+        NettyReactiveWebServerFactory serverFactory = new NettyReactiveWebServerFactory(0);
+        serverFactory.setResourceFactory(resourceFactory);
+        Set<String> serverThreads = ConcurrentHashMap.newKeySet();
+        WebServer server = serverFactory.getWebServer((request, response) -> {
+            serverThreads.add(Thread.currentThread().getName());
+            return response.setComplete();
+        });
+        server.start();
+        try {
+            assertSame(loopResources, resourceFactory.getLoopResources());
+            EventLoopGroup group = loopResources.onServer(true);
+            assertInstanceOf(NioEventLoopGroup.class, group);
+            assertEquals(2, ((MultithreadEventLoopGroup) group).executorCount());
+
+            // Una conexion nueva por peticion: con 2 hilos solo pueden aparecer reactor-http-nio-1 y -2
+            HttpClient client = HttpClient.create(ConnectionProvider.newConnection());
+            for (int i = 0; i < 6; i++) {
+                client.get()
+                        .uri("http://localhost:" + server.getPort() + "/")
+                        .response()
+                        .block(Duration.ofSeconds(5));
+            }
+
+            assertTrue(serverThreads.stream().allMatch(name -> name.matches("reactor-http-nio-[12]")), serverThreads.toString());
+        } finally {
+            server.stop();
+            loopResources.dispose();
+        }
+    }
+}
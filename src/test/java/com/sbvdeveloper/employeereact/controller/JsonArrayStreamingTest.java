@@ -0,0 +1,100 @@
+package com.sbvdeveloper.employeereact.controller;
+
+import com.sbvdeveloper.employeereact.controller.mongo.EmployeeMongoController;
+import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.mongo.EmployeeMongo;
+import com.sbvdeveloper.employeereact.service.EmployeeService;
+import com.sbvdeveloper.employeereact.service.mongo.EmployeeSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * El Jackson2JsonEncoder de Spring 6 escribe un Flux como arreglo JSON elemento por elemento: el primer empleado
+ * llega al cliente mientras el flujo del servicio sigue abierto, sin esperar a reunir la lista completa
+ */
+class JsonArrayStreamingTest {
+
+    //El segundo elemento tarda mucho mas de lo que la prueba espera al primero
+    private static final Duration UPSTREAM_DELAY = Duration.ofSeconds(5);
+    private static final Duration FIRST_ELEMENT_TIMEOUT = Duration.ofSeconds(2);
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final EmployeeSyncService employeeSyncService = mock(EmployeeSyncService.class);
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(new EmployeeController(employeeService),
+                        new EmployeeMongoController(employeeSyncService))
+                .configureClient()
+                .responseTimeout(UPSTREAM_DELAY.multipliedBy(2))
+                .build();
+    }
+
+    @Test
+    void writesFirstEmployeeBeforeTheFluxCompletes() {
+        when(employeeService.getAllEmployees()).thenReturn(delayedAfterFirst(
+                Employee.builder().id(1L).name("Alice").role("Developer").build(),
+                Employee.builder().id(2L).name("Bob").role("Tester").build()));
+
+        assertFirstElementArrivesEarly("/employees", "Alice");
+    }
+
+    @Test
+    void writesFirstMongoEmployeeBeforeTheFluxCompletes() {
+        when(employeeSyncService.getAllEmployees()).thenReturn(delayedAfterFirst(
+                EmployeeMongo.builder().id("1").name("Alice").role("Developer").build(),
+                EmployeeMongo.builder().id("2").name("Bob").role("Tester").build()));
+
+        assertFirstElementArrivesEarly("/mongo/employees", "Alice");
+    }
+
+    private void assertFirstElementArrivesEarly(String uri, String firstName) {
+        long start = System.nanoTime();
+        Flux<String> body = webTestClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(DataBuffer.class)
+                .getResponseBody()
+                .map(JsonArrayStreamingTest::text);
+
+        // Se acumulan los fragmentos hasta ver el primer elemento completo ('[' llega junto con el)
+        StepVerifier.create(body.scan("", String::concat).filter(json -> json.contains(firstName)).next())
+                .expectNextMatches(json -> json.startsWith("[") && !json.contains("Bob"))
+                .expectComplete()
+                .verify(FIRST_ELEMENT_TIMEOUT);
+
+        Duration timeToFirstElement = Duration.ofNanos(System.nanoTime() - start);
+        assertTrue(timeToFirstElement.compareTo(UPSTREAM_DELAY) < 0,
+                "El primer elemento llego en " + timeToFirstElement.toMillis() + " ms");
+    }
+
+    private static <T> Flux<T> delayedAfterFirst(T first, T second) {
+        return Flux.just(first).concatWith(Mono.delay(UPSTREAM_DELAY).thenReturn(second));
+    }
+
+    private static String text(DataBuffer buffer) {
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.sbvdeveloper.employeereact.load;
+
+import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.mongo.EmployeeMongo;
+import com.sbvdeveloper.employeereact.service.bulk.EmployeeBulkLoadService;
+import com.sbvdeveloper.employeereact.service.mongo.EmployeeSyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pruebas de carga de punta a punta: la aplicacion completa en un puerto aleatorio contra PostgreSQL y MongoDB en
+ * contenedores, con carga de tasa fija por escenario. Solo corre con el perfil load-test:
+ * mvn -Pload-test test -Dload.rate=200 -Dload.duration=30s -Dload.p99-max=500ms
+ */
+@Slf4j
+@Tag("load")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "config.sync.safety-lag=0s",
+        "config.seed.enabled=false",
+        "logging.level.com.sbvdeveloper=WARN",
+        "logging.level.org.flywaydb=INFO"
+})
+class EmployeeLoadTest {
+
+    private static final int ROWS = 20_000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    //La secundaria apunta al mismo contenedor: las lecturas readOnly se enrutan igual que en produccion
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", EmployeeLoadTest::r2dbcUrl);
+        registry.add("spring.r2dbc.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.password", POSTGRES::getPassword);
+        registry.add("spring.r2dbc.secondary.url", EmployeeLoadTest::r2dbcUrl);
+        registry.add("spring.r2dbc.secondary.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.secondary.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.flyway.user", POSTGRES::getUsername);
+        registry.add("spring.flyway.password", POSTGRES::getPassword);
+        registry.add("spring.data.mongodb.uri", () -> MONGO.getReplicaSetUrl("employess"));
+    }
+
+    private static String r2dbcUrl() {
+        return String.format("r2dbc:postgresql://%s:%d/%s", POSTGRES.getHost(),
+                POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), POSTGRES.getDatabaseName());
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeBulkLoadService employeeBulkLoadService;
+
+    @Autowired
+    private EmployeeSyncService employeeSyncService;
+
+    private WebClient webClient;
+    private final int rate = Integer.getInteger("load.rate", 200);
+    private final Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "30s"));
+    private final Duration p99Max = DurationStyle.detectAndParse(System.getProperty("load.p99-max", "500ms"));
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+    private final Path outputDirectory = Path.of(System.getProperty("load.output", "target/load-test"));
+
+    @BeforeAll
+    void seed() {
+        webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(64 * 1024 * 1024))
+                .build();
+        employeeBulkLoadService.copyGenerated(ROWS).block();
+        employeeSyncService.syncEmployeesToMongo().block();
+    }
+
+    //90% lecturas por id (con cache), paginas por cursor y lecturas en Mongo
+    @Test
+    void readHeavy() throws IOException {
+        OpenLoadGenerator.ScenarioReport report = generator("read-heavy", rate).run(List.of(
+                new OpenLoadGenerator.Operation("get-employee", 80, () -> webClient.get()
+                        .uri("/employees/{id}", randomId())
+                        .retrieve()
+                        .bodyToMono(Employee.class)),
+                new OpenLoadGenerator.Operation("get-employees-page", 10, () -> webClient.get()
+                        .uri("/employees?afterId={afterId}&limit=50", randomId())
+                        .retrieve()
+                        .bodyToFlux(Employee.class)
+                        .then()),
+                new OpenLoadGenerator.Operation("get-mongo-employee", 10, () -> webClient.get()
+                        .uri("/mongo/employees/{id}", randomId())
+                        .retrieve()
+                        .bodyToMono(EmployeeMongo.class))));
+
+        assertWithinBudget(report, true);
+    }
+
+    //Altas, actualizaciones y altas en Mongo
+    @Test
+    void writeHeavy() throws IOException {
+        OpenLoadGenerator.ScenarioReport report = generator("write-heavy", rate).run(List.of(
+                new OpenLoadGenerator.Operation("create-employee", 50, () -> webClient.post()
+                        .uri("/employees")
+                        .bodyValue(Employee.builder().name("Load").role("Tester").build())
+                        .retrieve()
+                        .bodyToMono(Employee.class)),
+                new OpenLoadGenerator.Operation("update-employee", 30, () -> webClient.put()
+                        .uri("/employees/{id}", randomId())
+                        .bodyValue(Employee.builder().name("Load").role("Developer").build())
+                        .retrieve()
+                        .bodyToMono(Employee.class)),
+                new OpenLoadGenerator.Operation("create-mongo-employee", 20, () -> webClient.post()
+                        .uri("/mongo/employees")
+                        .bodyValue(EmployeeMongo.builder().name("Load").role("Tester").build())
+                        .retrieve()
+                        .bodyToMono(EmployeeMongo.class))));
+
+        assertWithinBudget(report, true);
+    }
+
+    //Lectura de toda la tabla en NDJSON y cargas masivas de 1000 filas, a una tasa mas baja
+    @Test
+    void bulkStreaming() throws IOException {
+        int bulkRate = Math.max(1, rate / 50);
+        OpenLoadGenerator.ScenarioReport report = generator("bulk-streaming", bulkRate).run(List.of(
+                new OpenLoadGenerator.Operation("stream-employees", 50, () -> webClient.get()
+                        .uri("/employees")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .retrieve()
+                        .bodyToFlux(Employee.class)
+                        .then()),
+                new OpenLoadGenerator.Operation("save-employees-batch", 50, () -> webClient.post()
+                        .uri("/employees/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(Flux.range(0, 1_000).map(i -> Employee.builder().name("Bulk" + i).role("Support").build()), Employee.class)
+                        .retrieve()
+                        .bodyToFlux(Object.class)
+                        .then())));
+
+        //Las respuestas de toda la tabla dependen del tamano, solo se controla la tasa de error
+        assertWithinBudget(report, false);
+    }
+
+    private OpenLoadGenerator generator(String scenario, int ratePerSecond) {
+        return new OpenLoadGenerator(scenario, ratePerSecond, duration, 512, outputDirectory);
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+    }
+
+    private void assertWithinBudget(OpenLoadGenerator.ScenarioReport report, boolean checkLatency) {
+        String scenario = report.scenario();
+        log.warn("[{}] programadas={} descartadas={}", scenario, report.scheduled(), report.dropped());
+        report.operations().forEach(operation -> log.warn("[{}] {}", scenario, operation));
+
+        Assertions.assertTrue(report.droppedRate() <= maxErrorRate,
+                () -> scenario + ": peticiones descartadas = " + report.droppedRate());
+        for (OpenLoadGenerator.OperationReport operation : report.operations()) {
+            Assertions.assertTrue(operation.errorRate() <= maxErrorRate,
+                    () -> scenario + ": tasa de error de " + operation.name() + " = " + operation.errorRate());
+            if (checkLatency) {
+                Assertions.assertTrue(operation.p99Millis() <= p99Max.toMillis(),
+                        () -> scenario + ": p99 de " + operation.name() + " = " + operation.p99Millis() + "ms");
+            }
+        }
+    }
+}
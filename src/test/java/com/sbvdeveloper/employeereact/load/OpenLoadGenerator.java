@@ -0,0 +1,171 @@
+package com.sbvdeveloper.employeereact.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Generador de carga en modelo abierto: lanza peticiones a una tasa fija sin esperar las respuestas anteriores.
+ * La latencia se mide desde el instante en que la peticion debia salir, asi una pausa del servidor se refleja en los
+ * percentiles en lugar de frenar al generador (coordinated omission). Cada operacion escribe su histograma por
+ * intervalo de un segundo en el .hlog del escenario y su distribucion final en un .hgrm
+ */
+class OpenLoadGenerator {
+
+    record Operation(String name, int weight, Supplier<Mono<?>> request) {
+    }
+
+    record OperationReport(String name, long count, long errors, double throughput,
+                           double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-24s count=%d errors=%d throughput=%.1f/s p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms",
+                    name, count, errors, throughput, p50Millis, p99Millis, p999Millis, maxMillis);
+        }
+    }
+
+    record ScenarioReport(String scenario, long scheduled, long dropped, List<OperationReport> operations) {
+
+        //Peticiones que no llegaron a salir porque se alcanzo el maximo de peticiones en curso
+        double droppedRate() {
+            return scheduled == 0 ? 0 : (double) dropped / scheduled;
+        }
+    }
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final String scenario;
+    private final int ratePerSecond;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final Path outputDirectory;
+
+    OpenLoadGenerator(String scenario, int ratePerSecond, Duration duration, int maxInFlight, Path outputDirectory) {
+        this.scenario = scenario;
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.outputDirectory = outputDirectory;
+    }
+
+    ScenarioReport run(List<Operation> operations) throws IOException {
+        Files.createDirectories(outputDirectory);
+        int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        Map<String, Histogram> totals = new LinkedHashMap<>();
+        Map<String, AtomicLong> errors = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            recorders.put(operation.name(), new Recorder(3));
+            totals.put(operation.name(), new Histogram(3));
+            errors.put(operation.name(), new AtomicLong());
+        }
+        AtomicLong dropped = new AtomicLong();
+
+        long periodNanos = NANOS_PER_SECOND / ratePerSecond;
+        long requests = duration.toNanos() / periodNanos;
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+
+        try (PrintStream log = new PrintStream(outputDirectory.resolve(scenario + ".hlog").toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startMillis);
+            writer.setBaseTime(startMillis);
+            writer.outputLegend();
+
+            Disposable sampler = Flux.interval(Duration.ofSeconds(1))
+                    .subscribe(tick -> writeIntervals(writer, recorders, totals));
+            try {
+                Flux.interval(Duration.ofNanos(periodNanos))
+                        .take(requests)
+                        //Si el servidor no alcanza a atender, las peticiones que no pudieron salir se cuentan como error
+                        .onBackpressureDrop(tick -> dropped.incrementAndGet())
+                        .flatMap(tick -> {
+                            Operation operation = pick(operations, totalWeight);
+                            long intendedStart = startNanos + tick * periodNanos;
+                            return operation.request().get()
+                                    .then(Mono.fromRunnable(() -> record(recorders.get(operation.name()), intendedStart)))
+                                    .onErrorResume(e -> {
+                                        errors.get(operation.name()).incrementAndGet();
+                                        record(recorders.get(operation.name()), intendedStart);
+                                        return Mono.empty();
+                                    });
+                        }, maxInFlight)
+                        .blockLast(duration.plusMinutes(1));
+            } finally {
+                sampler.dispose();
+                writeIntervals(writer, recorders, totals);
+            }
+        }
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / (double) NANOS_PER_SECOND;
+        List<OperationReport> reports = operations.stream()
+                .map(operation -> report(operation.name(), totals.get(operation.name()),
+                        errors.get(operation.name()).get(), elapsedSeconds))
+                .toList();
+        for (Map.Entry<String, Histogram> entry : totals.entrySet()) {
+            writeDistribution(entry.getKey(), entry.getValue());
+        }
+        return new ScenarioReport(scenario, requests, dropped.get(), reports);
+    }
+
+    private static Operation pick(List<Operation> operations, int totalWeight) {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            value -= operation.weight();
+            if (value < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    //Latencias en microsegundos
+    private static void record(Recorder recorder, long intendedStartNanos) {
+        recorder.recordValue(Math.max(0, System.nanoTime() - intendedStartNanos) / 1_000);
+    }
+
+    private synchronized void writeIntervals(HistogramLogWriter writer, Map<String, Recorder> recorders, Map<String, Histogram> totals) {
+        recorders.forEach((name, recorder) -> {
+            Histogram interval = recorder.getIntervalHistogram();
+            interval.setTag(name);
+            writer.outputIntervalHistogram(interval);
+            totals.get(name).add(interval);
+        });
+    }
+
+    private void writeDistribution(String operation, Histogram histogram) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(outputDirectory.resolve(scenario + "-" + operation + ".hgrm").toFile())) {
+            histogram.outputPercentileDistribution(out, 1_000.0);
+        }
+    }
+
+    private static OperationReport report(String name, Histogram histogram, long errors, double elapsedSeconds) {
+        return new OperationReport(name, histogram.getTotalCount(), errors, histogram.getTotalCount() / elapsedSeconds,
+                histogram.getValueAtPercentile(50) / 1_000.0,
+                histogram.getValueAtPercentile(99) / 1_000.0,
+                histogram.getValueAtPercentile(99.9) / 1_000.0,
+                histogram.getMaxValue() / 1_000.0);
+    }
+}
@@ -1,6 +1,14 @@
 package com.sbvdeveloper.employeereact.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sbvdeveloper.employeereact.config.cache.ReactiveCache;
+import com.sbvdeveloper.employeereact.domain.AuditAction;
 import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.EmployeeBatchResult;
+import com.sbvdeveloper.employeereact.domain.EmployeeField;
+import com.sbvdeveloper.employeereact.domain.EmployeeView;
+import com.sbvdeveloper.employeereact.domain.LookupResult;
+import com.sbvdeveloper.employeereact.service.audit.AuditLogWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,12 +18,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.core.ReactiveDeleteOperation;
-import org.springframework.data.r2dbc.core.ReactiveSelectOperation;
-import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.AdditionalMatchers.not;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +46,16 @@ class EmployeeServiceImplUnitTest {
     @Qualifier("secondaryR2dbcEntityTemplate")
     private R2dbcEntityTemplate secondaryR2dbcEntityTemplate;
 
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
     @BeforeEach
     void setUp() {
-        employeeService = new EmployeeServiceImpl(primaryR2dbcEntityTemplate, secondaryR2dbcEntityTemplate);
+        // La auditoria se encola sin escribir en la base de datos
+        lenient().when(auditLogWriter.record(any())).thenReturn(Mono.empty());
+        employeeService = new EmployeeServiceImpl(primaryR2dbcEntityTemplate, secondaryR2dbcEntityTemplate,
+                new ReactiveCache<>(Caffeine.newBuilder().buildAsync()), auditLogWriter,
+                Duration.ofMillis(20), 100, 4);
     }
 
 
@@ -44,14 +66,9 @@ class EmployeeServiceImplUnitTest {
         Employee employee1 = Employee.builder().id(1L).name("Alice").role("Developer").build();
         Employee employee2 = Employee.builder().id(2L).name("Jane Smith").role("Manager").build();
 
-        // Mock del objeto intermedio
-        ReactiveSelectOperation.ReactiveSelect<Employee> reactiveSelectMock = mock(ReactiveSelectOperation.ReactiveSelect.class);
-
-        // Configurar mock para `select(...)`
-        when(primaryR2dbcEntityTemplate.select(Employee.class)).thenReturn(reactiveSelectMock);
-
-        // Configurar mock para `select(...).all()`
-        when(reactiveSelectMock.all()).thenReturn(Flux.just(employee1, employee2));
+        // Mocks de la cadena DatabaseClient.sql(...).map(...).all()
+        RowsFetchSpec<Employee> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.all()).thenReturn(Flux.just(employee1, employee2));
 
         // Ejecutar el metodo a probar
         Flux<Employee> result = employeeService.getAllEmployees();
@@ -62,8 +79,85 @@ class EmployeeServiceImplUnitTest {
                 .expectNextMatches(e -> e.getRole().equals("Manager"))
                 .verifyComplete();
 
-        // Verificar que el mock fue invocado
-        verify(primaryR2dbcEntityTemplate, times(1)).select(Employee.class);
+        // Mapeo manual con EmployeeRowMapper, sin el convertidor reflexivo del template
+        verify(primaryR2dbcEntityTemplate.getDatabaseClient()).sql("SELECT id, name, role FROM employees");
+        verify(primaryR2dbcEntityTemplate, never()).select(Employee.class);
+    }
+
+    @Test
+    @DisplayName("Stream all employees page by page")
+    void streamAllEmployees() {
+
+        EmployeeView employee1 = new EmployeeView(1L, "Alice", "Developer");
+        EmployeeView employee2 = new EmployeeView(2L, "Jane Smith", "Manager");
+        EmployeeView employee3 = new EmployeeView(3L, "Bob", "Tester");
+
+        // Dos paginas: la primera llena (2 elementos) y la segunda incompleta, que termina el recorrido
+        RowsFetchSpec<EmployeeView> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.all()).thenReturn(Flux.just(employee1, employee2), Flux.just(employee3));
+
+        // Ejecutar el metodo a probar
+        Flux<EmployeeView> result = employeeService.streamAllEmployees(2);
+
+        // Validar el flujo reactivo con StepVerifier
+        StepVerifier.create(result)
+                .expectNextMatches(e -> e.id().equals(1L))
+                .expectNextMatches(e -> e.id().equals(2L))
+                .expectNextMatches(e -> e.id().equals(3L))
+                .verifyComplete();
+
+        // Una consulta por pagina, la segunda desde el ultimo id de la primera
+        DatabaseClient databaseClient = primaryR2dbcEntityTemplate.getDatabaseClient();
+        verify(databaseClient, times(2)).sql(contains("ORDER BY id LIMIT :limit"));
+        verify(databaseClient, times(1)).sql(contains("WHERE id > :afterId"));
+    }
+
+    @Test
+    @DisplayName("Get employees projecting only the requested columns")
+    void getEmployeesWithFields() {
+
+        RowsFetchSpec<EmployeeView> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.all()).thenReturn(Flux.just(new EmployeeView(1L, "Alice", null)));
+
+        // Ejecutar el metodo a probar, los campos llegan en cualquier orden
+        Flux<EmployeeView> result = employeeService.getEmployees(EmployeeField.parse("name,id"), 0L, 50);
+
+        StepVerifier.create(result)
+                .expectNextMatches(e -> e.id().equals(1L) && e.role() == null)
+                .verifyComplete();
+
+        // Solo las columnas pedidas, en orden fijo
+        verify(primaryR2dbcEntityTemplate.getDatabaseClient())
+                .sql("SELECT id, name FROM employees WHERE id > :afterId ORDER BY id LIMIT :limit");
+    }
+
+    @Test
+    @DisplayName("Get many employees by id with one query, in request order and reporting missing ids")
+    void getEmployeesByIds() {
+
+        Employee employee1 = Employee.builder().id(1L).name("Alice").role("Developer").build();
+        Employee employee3 = Employee.builder().id(3L).name("Bob").role("Tester").build();
+
+        // La base de datos devuelve las filas en cualquier orden
+        RowsFetchSpec<Employee> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.all()).thenReturn(Flux.just(employee1, employee3));
+
+        // Ejecutar el metodo a probar con un id repetido y uno inexistente
+        Flux<LookupResult<Long, EmployeeView>> result = employeeService.getEmployeesByIds(List.of(3L, 2L, 1L, 3L),
+                EnumSet.allOf(EmployeeField.class));
+
+        StepVerifier.create(result)
+                .expectNextMatches(r -> r.id().equals(3L) && r.found() && r.employee().name().equals("Bob"))
+                .expectNextMatches(r -> r.id().equals(2L) && !r.found() && r.employee() == null)
+                .expectNextMatches(r -> r.id().equals(1L) && r.found())
+                .verifyComplete();
+
+        // Una sola consulta con id = ANY(:ids); la lectura de la secundaria no llena el cache
+        verify(primaryR2dbcEntityTemplate.getDatabaseClient()).sql(contains("WHERE id = ANY(:ids)"));
+        StepVerifier.create(employeeService.getEmployeeById(3L))
+                .expectNextMatches(e -> e.getName().equals("Bob"))
+                .verifyComplete();
+        verify(fetchSpecMock, times(2)).all();
     }
 
     @Test
@@ -72,15 +166,9 @@ class EmployeeServiceImplUnitTest {
 
         Employee employee = Employee.builder().id(1L).name("Alice").role("Developer").build();
 
-        // Mock del objeto intermedio
-        ReactiveSelectOperation.ReactiveSelect<Employee> reactiveSelectMock = mock(ReactiveSelectOperation.ReactiveSelect.class);
-
-        // Configurar el mock para `select(...).matching(...)`
-        when(primaryR2dbcEntityTemplate.select(Employee.class)).thenReturn(reactiveSelectMock);
-
-        // Configurar el mock para `matching(...).one()` para devolver un Mono del empleado
-        when(reactiveSelectMock.matching(any())).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.one()).thenReturn(Mono.just(employee));
+        // Mocks de la cadena DatabaseClient.sql(...).bind(...).map(...).all() del lote
+        RowsFetchSpec<Employee> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.all()).thenReturn(Flux.just(employee));
 
         // Ejecutar el metodo a probar
         Mono<Employee> result = employeeService.getEmployeeById(1L);
@@ -91,27 +179,71 @@ class EmployeeServiceImplUnitTest {
                 .verifyComplete();
 
         // Verificar que el mock fue invocado correctamente
-        verify(primaryR2dbcEntityTemplate).select(Employee.class);
-        verify(reactiveSelectMock).matching(any());
-        verify(reactiveSelectMock).one();
+        verify(primaryR2dbcEntityTemplate.getDatabaseClient()).sql(contains("WHERE id = ANY(:ids)"));
     }
 
     @Test
-    @DisplayName("Save employee when employee doesn't exist")
-    void saveEmployeeWhenNotExists() {
-        // Crear un nuevo empleado para la prueba
+    @DisplayName("Concurrent gets by ID are coalesced into one query with distinct ids")
+    void getEmployeeByIdCoalesced() {
+
+        Employee employee1 = Employee.builder().id(1L).name("Alice").role("Developer").build();
+        Employee employee2 = Employee.builder().id(2L).name("Bob").role("Tester").build();
+
+        RowsFetchSpec<Employee> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.all()).thenReturn(Flux.just(employee2, employee1));
+
+        // Cuatro consultas en la misma ventana: un id repetido y uno que no existe
+        Flux<Long> result = Flux.merge(
+                        employeeService.getEmployeeById(1L),
+                        employeeService.getEmployeeById(2L),
+                        employeeService.getEmployeeById(2L),
+                        employeeService.getEmployeeById(3L))
+                .map(Employee::getId);
+
+        // Cada Mono recibe su fila y el id inexistente termina vacio
+        StepVerifier.create(result.collectList())
+                .expectNextMatches(ids -> ids.size() == 3 && ids.containsAll(List.of(1L, 2L)) && !ids.contains(3L))
+                .verifyComplete();
+
+        // Una sola consulta con los ids distintos
+        verify(primaryR2dbcEntityTemplate.getDatabaseClient(), times(1)).sql(anyString());
+        verify(fetchSpecMock, times(1)).all();
+    }
+
+    @Test
+    @DisplayName("Get employee by ID is served from the cache on the second call")
+    void getEmployeeByIdCached() {
+
         Employee employee = Employee.builder().id(1L).name("Alice").role("Developer").build();
 
-        // Crear el mock de ReactiveSelect para que coincida con el select
-        ReactiveSelectOperation.ReactiveSelect<Employee> reactiveSelectMock = mock(ReactiveSelectOperation.ReactiveSelect.class);
+        RowsFetchSpec<Employee> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.all()).thenReturn(Flux.just(employee));
 
-        // Configurar el mock para `select(...).matching(...).one()` para devolver Mono.empty(), ya que el empleado no existe
-        when(primaryR2dbcEntityTemplate.select(Employee.class)).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.matching(any(Query.class))).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.one()).thenReturn(Mono.empty());  // Empleado no encontrado
+        // Dos consultas por el mismo id
+        StepVerifier.create(employeeService.getEmployeeById(1L).then(employeeService.getEmployeeById(1L)))
+                .expectNextMatches(e -> e.getName().equals("Alice"))
+                .verifyComplete();
+
+        // Solo la primera llega a la base de datos
+        verify(fetchSpecMock, times(1)).all();
+    }
+
+    @Test
+    @DisplayName("Save employee with a single upsert statement")
+    void saveEmployeeUpsert() {
+        // Crear un nuevo empleado para la prueba
+        Employee employee = Employee.builder().id(1L).name("Alice").role("Developer").build();
+
+        // Mocks de la cadena DatabaseClient.sql(...).bind(...).map(...).one()
+        DatabaseClient databaseClientMock = mock(DatabaseClient.class);
+        DatabaseClient.GenericExecuteSpec executeSpecMock = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<Employee> fetchSpecMock = mock(RowsFetchSpec.class);
 
-        // Mock del insert cuando el empleado no existe
-        when(primaryR2dbcEntityTemplate.insert(any(Employee.class))).thenReturn(Mono.just(employee));
+        when(primaryR2dbcEntityTemplate.getDatabaseClient()).thenReturn(databaseClientMock);
+        when(databaseClientMock.sql(anyString())).thenReturn(executeSpecMock);
+        when(executeSpecMock.bind(anyString(), any())).thenReturn(executeSpecMock);
+        when(executeSpecMock.map(any(BiFunction.class))).thenReturn(fetchSpecMock);
+        when(fetchSpecMock.one()).thenReturn(Mono.just(employee));
 
         // Ejecutar el metodo a probar
         Mono<Employee> result = employeeService.saveEmployee(employee);
@@ -121,59 +253,122 @@ class EmployeeServiceImplUnitTest {
                 .expectNextMatches(e -> e.getId().equals(1L) && e.getName().equals("Alice"))
                 .verifyComplete();
 
-        // Verificar que las invocaciones se realizaron correctamente
-        verify(primaryR2dbcEntityTemplate).select(Employee.class);
-        verify(primaryR2dbcEntityTemplate).insert(any(Employee.class));
+        // Un solo INSERT ... ON CONFLICT, sin SELECT previo
+        verify(databaseClientMock).sql(contains("ON CONFLICT (id) DO UPDATE"));
+        verify(executeSpecMock).bind("id", 1L);
+        verify(primaryR2dbcEntityTemplate, never()).select(Employee.class);
     }
 
     @Test
-    @DisplayName("Update employee when employee already exists")
-    void saveEmployeeWhenExists() {
-        // Crear un empleado existente y uno nuevo para la prueba
-        Employee existingEmployee = Employee.builder().id(1L).name("Alice").role("Developer").build();
-        Employee updatedEmployee = Employee.builder().id(1L).name("Alice Updated").role("Manager").build();
+    @DisplayName("Save employee without id lets the sequence generate it")
+    void saveEmployeeWithoutId() {
+        // Empleado sin id, el id lo asigna BIGSERIAL
+        Employee employee = Employee.builder().name("Alice").role("Developer").build();
+        Employee savedEmployee = Employee.builder().id(10L).name("Alice").role("Developer").build();
+
+        // Mocks de la cadena DatabaseClient.sql(...).bind(...).map(...).one()
+        DatabaseClient databaseClientMock = mock(DatabaseClient.class);
+        DatabaseClient.GenericExecuteSpec executeSpecMock = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<Employee> fetchSpecMock = mock(RowsFetchSpec.class);
+
+        when(primaryR2dbcEntityTemplate.getDatabaseClient()).thenReturn(databaseClientMock);
+        when(databaseClientMock.sql(anyString())).thenReturn(executeSpecMock);
+        when(executeSpecMock.bind(anyString(), any())).thenReturn(executeSpecMock);
+        when(executeSpecMock.map(any(BiFunction.class))).thenReturn(fetchSpecMock);
+        when(fetchSpecMock.one()).thenReturn(Mono.just(savedEmployee));
+
+        // Ejecutar el metodo a probar
+        Mono<Employee> result = employeeService.saveEmployee(employee);
 
-        // Crear el mock de ReactiveSelect
-        ReactiveSelectOperation.ReactiveSelect<Employee> reactiveSelectMock = mock(ReactiveSelectOperation.ReactiveSelect.class);
+        // Validar el Mono usando StepVerifier
+        StepVerifier.create(result)
+                .expectNextMatches(e -> e.getId().equals(10L))
+                .verifyComplete();
 
-        // Configurar el mock para `select(...).matching(...).one()` para devolver un empleado existente
-        when(primaryR2dbcEntityTemplate.select(Employee.class)).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.matching(any())).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.one()).thenReturn(Mono.just(existingEmployee));
+        // No se envia el id ni se usa ON CONFLICT
+        verify(databaseClientMock, never()).sql(contains("ON CONFLICT"));
+        verify(executeSpecMock, never()).bind(eq("id"), any());
+    }
 
-        // Configurar el mock para `insert(...)` para actualizar el empleado existente
-        when(primaryR2dbcEntityTemplate.insert(any(Employee.class))).thenReturn(Mono.just(updatedEmployee));
+    @Test
+    @DisplayName("Save employee without role binds it as null")
+    void saveEmployeeWithNullRole() {
+        // Empleado sin rol: el driver no acepta bind(name, null)
+        Employee employee = Employee.builder().name("Alice").build();
+        Employee savedEmployee = Employee.builder().id(11L).name("Alice").build();
+
+        DatabaseClient databaseClientMock = mock(DatabaseClient.class);
+        DatabaseClient.GenericExecuteSpec executeSpecMock = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<Employee> fetchSpecMock = mock(RowsFetchSpec.class);
+
+        when(primaryR2dbcEntityTemplate.getDatabaseClient()).thenReturn(databaseClientMock);
+        when(databaseClientMock.sql(anyString())).thenReturn(executeSpecMock);
+        when(executeSpecMock.bind(anyString(), any())).thenReturn(executeSpecMock);
+        when(executeSpecMock.bindNull(anyString(), any())).thenReturn(executeSpecMock);
+        when(executeSpecMock.map(any(BiFunction.class))).thenReturn(fetchSpecMock);
+        when(fetchSpecMock.one()).thenReturn(Mono.just(savedEmployee));
+
+        StepVerifier.create(employeeService.saveEmployee(employee))
+                .expectNextMatches(e -> e.getId().equals(11L) && e.getRole() == null)
+                .verifyComplete();
 
-        // Ejecutar el método a probar
-        Mono<Employee> result = employeeService.saveEmployee(updatedEmployee);
+        verify(executeSpecMock).bind("name", "Alice");
+        verify(executeSpecMock).bindNull("role", String.class);
+    }
 
-        // Validar el Mono usando StepVerifier
+    @Test
+    @DisplayName("Save employees in chunks with one multi-row insert per chunk")
+    void saveEmployeesInChunks() {
+        Employee employee1 = Employee.builder().id(1L).name("Alice").role("Developer").build();
+        Employee employee2 = Employee.builder().id(2L).name("Jane Smith").role("Manager").build();
+        Employee employee3 = Employee.builder().name("Bob").role("Tester").build();
+
+        // Mocks de la cadena DatabaseClient.sql(...).bind(...).map(...).one()
+        DatabaseClient databaseClientMock = mock(DatabaseClient.class);
+        DatabaseClient.GenericExecuteSpec executeSpecMock = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<Long> fetchSpecMock = mock(RowsFetchSpec.class);
+
+        when(primaryR2dbcEntityTemplate.getDatabaseClient()).thenReturn(databaseClientMock);
+        when(databaseClientMock.sql(anyString())).thenReturn(executeSpecMock);
+        when(executeSpecMock.bind(anyString(), any())).thenReturn(executeSpecMock);
+        when(executeSpecMock.map(any(BiFunction.class))).thenReturn(fetchSpecMock);
+        when(fetchSpecMock.one()).thenReturn(Mono.just(2L), Mono.just(1L));
+
+        // Ejecutar el metodo a probar con bloques de 2
+        Flux<EmployeeBatchResult> result = employeeService.saveEmployees(Flux.just(employee1, employee2, employee3), 2);
+
+        // Un resultado por bloque
         StepVerifier.create(result)
-                .expectNextMatches(e -> e.getId().equals(1L) && e.getName().equals("Alice Updated"))
+                .expectNextMatches(r -> r.getChunk() == 0 && r.getReceived() == 2 && r.getWritten() == 2 && r.isSuccess())
+                .expectNextMatches(r -> r.getChunk() == 1 && r.getReceived() == 1 && r.getWritten() == 1 && r.isSuccess())
                 .verifyComplete();
 
-        // Verificar que las invocaciones se realizaron correctamente
-        verify(primaryR2dbcEntityTemplate).select(Employee.class);
-        verify(primaryR2dbcEntityTemplate).insert(any(Employee.class));
+        // Una sentencia por bloque: las filas con id en el upsert, la fila sin id en un INSERT sin ON CONFLICT
+        verify(databaseClientMock, times(2)).sql(anyString());
+        verify(databaseClientMock).sql(contains("upserted AS (INSERT INTO employees (id, name, role) VALUES (:id0, :name0, :role0), (:id1, :name1, :role1) ON CONFLICT"));
+        verify(databaseClientMock).sql(and(contains("inserted AS (INSERT INTO employees (name, role) VALUES (:name0, :role0) RETURNING id)"),
+                not(contains("ON CONFLICT"))));
+    }
+
+    @Test
+    @DisplayName("Save employees rejects chunks above the PostgreSQL bind parameter limit")
+    void saveEmployeesRejectsOversizedChunks() {
+        StepVerifier.create(employeeService.saveEmployees(Flux.just(Employee.builder().name("Alice").build()),
+                        EmployeeService.MAX_CHUNK_SIZE + 1))
+                .verifyError(IllegalArgumentException.class);
+
+        verify(primaryR2dbcEntityTemplate, never()).getDatabaseClient();
     }
 
     @Test
     @DisplayName("Update employee when employee exists")
     void updateEmployeeWhenExists() {
-        // Crear un empleado existente y uno actualizado para la prueba
-        Employee existingEmployee = Employee.builder().id(1L).name("Alice").role("Developer").build();
+        // Empleado que devuelve el UPDATE ... RETURNING
         Employee updatedEmployee = Employee.builder().id(1L).name("Alice Updated").role("Manager").build();
 
-        // Crear el mock de ReactiveSelect
-        ReactiveSelectOperation.ReactiveSelect<Employee> reactiveSelectMock = mock(ReactiveSelectOperation.ReactiveSelect.class);
-
-        // Configurar el mock para `select(...).matching(...).one()` para devolver un empleado existente
-        when(primaryR2dbcEntityTemplate.select(Employee.class)).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.matching(any())).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.one()).thenReturn(Mono.just(existingEmployee));
-
-        // Configurar el mock para `update(...)` para actualizar el empleado
-        when(primaryR2dbcEntityTemplate.update(any(Employee.class))).thenReturn(Mono.just(updatedEmployee));
+        // Mocks de la cadena DatabaseClient.sql(...).bind(...).map(...).one()
+        RowsFetchSpec<Employee> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.one()).thenReturn(Mono.just(updatedEmployee));
 
         // Ejecutar el metodo a probar
         Mono<Employee> result = employeeService.updateEmployee(1L, updatedEmployee);
@@ -183,59 +378,38 @@ class EmployeeServiceImplUnitTest {
                 .expectNextMatches(e -> e.getId().equals(1L) && e.getName().equals("Alice Updated"))
                 .verifyComplete();
 
-        // Verificar que las invocaciones se realizaron correctamente
-        verify(primaryR2dbcEntityTemplate).select(Employee.class);
-        verify(primaryR2dbcEntityTemplate).update(any(Employee.class));
+        // Un solo UPDATE, sin SELECT previo
+        verify(primaryR2dbcEntityTemplate.getDatabaseClient()).sql(contains("RETURNING"));
+        verify(primaryR2dbcEntityTemplate, never()).select(Employee.class);
     }
 
     @Test
-    @DisplayName("Throw exception when employee does not exist for update")
+    @DisplayName("Return empty when employee does not exist for update")
     void updateEmployeeWhenNotExists() {
         // Crear un empleado que no existe para la prueba
         Employee updatedEmployee = Employee.builder().id(1L).name("Alice Updated").role("Manager").build();
 
-        // Crear el mock de ReactiveSelect
-        ReactiveSelectOperation.ReactiveSelect<Employee> reactiveSelectMock = mock(ReactiveSelectOperation.ReactiveSelect.class);
+        // El UPDATE no afecta filas, RETURNING no devuelve nada
+        RowsFetchSpec<Employee> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.one()).thenReturn(Mono.empty());
 
-        // Configurar el mock para `select(...).matching(...).one()` para devolver Mono.empty(), ya que el empleado no existe
-        when(primaryR2dbcEntityTemplate.select(Employee.class)).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.matching(any())).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.one()).thenReturn(Mono.empty());
-
-        // Ejecutar el metodo a probar y esperar la excepción
+        // Ejecutar el metodo a probar
         Mono<Employee> result = employeeService.updateEmployee(1L, updatedEmployee);
 
-        // Validar que el Mono emite una excepción
+        // El Mono vacio se traduce en 404 en el controlador
         StepVerifier.create(result)
-                .expectErrorMatches(throwable -> throwable instanceof Exception && throwable.getMessage().equals("El empleado no existe para actualizar"))
-                .verify();
-
-        // Verificar que la selección del empleado fue intentada
-        verify(primaryR2dbcEntityTemplate).select(Employee.class);
+                .verifyComplete();
     }
 
     @Test
     @DisplayName("Delete employee when employee exists")
     void deleteEmployeeWhenExists() {
-        // Crear un empleado para la prueba
+        // Empleado que devuelve el DELETE ... RETURNING
         Employee existingEmployee = Employee.builder().id(1L).name("Alice").role("Developer").build();
 
-        // Crear el mock de ReactiveSelect
-        ReactiveSelectOperation.ReactiveSelect<Employee> reactiveSelectMock = mock(ReactiveSelectOperation.ReactiveSelect.class);
-
-        // Configurar el mock para `select(...).matching(...).one()` para devolver un empleado existente
-        when(primaryR2dbcEntityTemplate.select(Employee.class)).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.matching(any())).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.one()).thenReturn(Mono.just(existingEmployee));
-
-        // Crear el mock para la operación de eliminación (ReactiveDeleteOperation.ReactiveDelete)
-        ReactiveDeleteOperation.ReactiveDelete deleteMock = mock(ReactiveDeleteOperation.ReactiveDelete.class);
-        ReactiveDeleteOperation.TerminatingDelete terminatingDeleteMock = mock(ReactiveDeleteOperation.TerminatingDelete.class);
-
-        // Configurar el mock para `delete(...).matching(...).all()` para eliminar el empleado
-        when(primaryR2dbcEntityTemplate.delete(Employee.class)).thenReturn(deleteMock);
-        when(deleteMock.matching(any())).thenReturn(terminatingDeleteMock);
-        when(terminatingDeleteMock.all()).thenReturn(Mono.just(1L)); // Simulando que se eliminó un empleado
+        // Mocks de la cadena DatabaseClient.sql(...).bind(...).map(...).one()
+        RowsFetchSpec<Employee> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.one()).thenReturn(Mono.just(existingEmployee));
 
         // Ejecutar el metodo a probar
         Mono<Employee> result = employeeService.deleteEmployee(1L);
@@ -245,34 +419,41 @@ class EmployeeServiceImplUnitTest {
                 .expectNextMatches(e -> e.getId().equals(1L) && e.getName().equals("Alice"))
                 .verifyComplete();
 
-        // Verificar que las invocaciones se realizaron correctamente
-        verify(primaryR2dbcEntityTemplate).select(Employee.class);
-        verify(primaryR2dbcEntityTemplate).delete(Employee.class);
-        verify(deleteMock).matching(any());
-        verify(terminatingDeleteMock).all();
+        // Un solo DELETE, sin SELECT previo
+        verify(primaryR2dbcEntityTemplate.getDatabaseClient()).sql(contains("DELETE FROM employees"));
+        verify(primaryR2dbcEntityTemplate, never()).select(Employee.class);
+
+        // La eliminacion queda encolada en la auditoria
+        verify(auditLogWriter).record(argThat(log -> log.getAction() == AuditAction.DELETE && log.getEmployeeId().equals(1L)));
     }
 
     @Test
-    @DisplayName("Throw exception when employee does not exist for deletion")
+    @DisplayName("Return empty when employee does not exist for deletion")
     void deleteEmployeeWhenNotExists() {
-        // Crear el mock de ReactiveSelect
-        ReactiveSelectOperation.ReactiveSelect<Employee> reactiveSelectMock = mock(ReactiveSelectOperation.ReactiveSelect.class);
-
-        // Configurar el mock para `select(...).matching(...).one()` para devolver Mono.empty(), ya que el empleado no existe
-        when(primaryR2dbcEntityTemplate.select(Employee.class)).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.matching(any())).thenReturn(reactiveSelectMock);
-        when(reactiveSelectMock.one()).thenReturn(Mono.empty());
+        // El DELETE no afecta filas, RETURNING no devuelve nada
+        RowsFetchSpec<Employee> fetchSpecMock = mockRowsFetchSpec();
+        when(fetchSpecMock.one()).thenReturn(Mono.empty());
 
-        // Ejecutar el metodo a probar y esperar la excepción
+        // Ejecutar el metodo a probar
         Mono<Employee> result = employeeService.deleteEmployee(1L);
 
-        // Validar que el Mono emite una excepción
+        // El Mono vacio se traduce en 404 en el controlador
         StepVerifier.create(result)
-                .expectErrorMatches(throwable -> throwable instanceof Exception && throwable.getMessage().equals("El empleado no existe para eliminar"))
-                .verify();
+                .verifyComplete();
+    }
 
-        // Verificar que la selección del empleado fue intentada
-        verify(primaryR2dbcEntityTemplate).select(Employee.class);
+    // Mocks de la cadena DatabaseClient.sql(...).bind(...).map(...) usada por las lecturas y las sentencias con RETURNING
+    private <T> RowsFetchSpec<T> mockRowsFetchSpec() {
+        DatabaseClient databaseClientMock = mock(DatabaseClient.class);
+        DatabaseClient.GenericExecuteSpec executeSpecMock = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<T> fetchSpecMock = mock(RowsFetchSpec.class);
+
+        when(primaryR2dbcEntityTemplate.getDatabaseClient()).thenReturn(databaseClientMock);
+        when(databaseClientMock.sql(anyString())).thenReturn(executeSpecMock);
+        lenient().when(executeSpecMock.bind(anyString(), any())).thenReturn(executeSpecMock);
+        lenient().when(executeSpecMock.bindNull(anyString(), any())).thenReturn(executeSpecMock);
+        when(executeSpecMock.map(any(BiFunction.class))).thenReturn(fetchSpecMock);
+        return fetchSpecMock;
     }
 
 
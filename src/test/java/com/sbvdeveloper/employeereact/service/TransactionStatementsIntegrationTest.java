@@ -0,0 +1,119 @@
+package com.sbvdeveloper.employeereact.service;
+
+import com.sbvdeveloper.employeereact.config.metrics.TransactionMetricsExecutionListener;
+import com.sbvdeveloper.employeereact.domain.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Cuenta los BEGIN/COMMIT que cada endpoint envia a PostgreSQL (metrica r2dbc.transactions): las lecturas de una
+ * sola sentencia y las de Mongo no deben abrir transaccion, las escrituras abren exactamente una en la primaria.
+ * Requiere Docker, solo corre con el perfil containers: mvn -Pcontainers test
+ */
+@Tag("containers")
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureWebTestClient
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = "config.seed.enabled=false")
+class TransactionStatementsIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    //La secundaria apunta al mismo contenedor, como en EmployeeLoadTest
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", TransactionStatementsIntegrationTest::r2dbcUrl);
+        registry.add("spring.r2dbc.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.password", POSTGRES::getPassword);
+        registry.add("spring.r2dbc.secondary.url", TransactionStatementsIntegrationTest::r2dbcUrl);
+        registry.add("spring.r2dbc.secondary.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.secondary.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.flyway.user", POSTGRES::getUsername);
+        registry.add("spring.flyway.password", POSTGRES::getPassword);
+        registry.add("spring.data.mongodb.uri", () -> MONGO.getReplicaSetUrl("employess"));
+    }
+
+    private static String r2dbcUrl() {
+        return String.format("r2dbc:postgresql://%s:%d/%s", POSTGRES.getHost(),
+                POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), POSTGRES.getDatabaseName());
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void singleStatementReadsDoNotOpenTransactions() {
+        assertTransactionStatements(0, "/employees");
+        assertTransactionStatements(0, "/employees?afterId=0&limit=10");
+        assertTransactionStatements(0, "/employees?fields=id,name");
+        assertTransactionStatements(0, "/employees?ids=1,2");
+        assertTransactionStatements(0, "/employees/1");
+        assertTransactionStatements(0, "/employees/secondary");
+    }
+
+    @Test
+    void mongoReadsDoNotOpenPostgresTransactions() {
+        assertTransactionStatements(0, "/mongo/employees");
+        assertTransactionStatements(0, "/mongo/employees/1");
+    }
+
+    @Test
+    void writesOpenOneTransactionOnPrimary() {
+        double begins = count("primary", "begin");
+        double commits = count("primary", "commit");
+        double secondaryBegins = count("secondary", "begin");
+
+        webTestClient.post()
+                .uri("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Employee.builder().name("Carla").role("Developer").build())
+                .exchange()
+                .expectStatus().isCreated();
+
+        Assertions.assertEquals(1, count("primary", "begin") - begins);
+        Assertions.assertEquals(1, count("primary", "commit") - commits);
+        Assertions.assertEquals(0, count("secondary", "begin") - secondaryBegins);
+    }
+
+    private void assertTransactionStatements(int expected, String uri) {
+        double before = count(null, null);
+
+        webTestClient.get()
+                .uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult();
+
+        Assertions.assertEquals(expected, count(null, null) - before, "BEGIN/COMMIT/ROLLBACK enviados por GET " + uri);
+    }
+
+    //Suma de r2dbc.transactions, filtrando por datasource y operacion cuando se indican
+    private double count(String datasource, String operation) {
+        return meterRegistry.find(TransactionMetricsExecutionListener.METRIC_NAME).counters().stream()
+                .filter(counter -> datasource == null || datasource.equals(counter.getId().getTag("datasource")))
+                .filter(counter -> operation == null || operation.equals(counter.getId().getTag("operation")))
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
@@ -0,0 +1,42 @@
+package com.sbvdeveloper.employeereact.service.bulk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticEmployeeGeneratorTest {
+
+    private final SyntheticEmployeeGenerator generator = new SyntheticEmployeeGenerator("Alice,Bob", "Developer:3,Tester:1");
+
+    @Test
+    @DisplayName("Generate the requested number of CSV lines")
+    void generateCsvLines() {
+        StepVerifier.create(generator.csvLines(1000))
+                .expectNextCount(1000)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Generated lines use the configured names and roles")
+    void generateConfiguredValues() {
+        StepVerifier.create(generator.csvLines(2))
+                .expectNextMatches(line -> line.startsWith("Alice 1,") && line.endsWith("\n")
+                        && (line.contains(",Developer") || line.contains(",Tester")))
+                .expectNextMatches(line -> line.startsWith("Bob 2,"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Reject non-numeric and non-positive role weights with a configuration message")
+    void rejectInvalidWeights() {
+        IllegalArgumentException nonNumeric = assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticEmployeeGenerator("Alice", "Developer:many"));
+        assertTrue(nonNumeric.getMessage().contains("config.seed.roles"));
+
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticEmployeeGenerator("Alice", "Developer:0,Tester:0"));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticEmployeeGenerator("Alice", "Developer:-1"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.sbvdeveloper.employeereact.service.diagnostics;
+
+import com.sbvdeveloper.employeereact.domain.SlowQuery;
+import io.r2dbc.proxy.core.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowQueryLogTest {
+
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(true, Duration.ofMillis(200), 2, false, 10, Duration.ofSeconds(5));
+
+    @Test
+    void isSlowUsesThreshold() {
+        assertFalse(slowQueryLog.isSlow(Duration.ofMillis(199)));
+        assertTrue(slowQueryLog.isSlow(Duration.ofMillis(200)));
+        assertFalse(new SlowQueryLog(false, Duration.ZERO, 2, false, 10, Duration.ofSeconds(5)).isSlow(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void recordKeepsLastQueriesNewestFirst() {
+        slowQueryLog.record("primary", null, new QueryInfo("SELECT 1"), Duration.ofMillis(250));
+        slowQueryLog.record("primary", null, new QueryInfo("SELECT 2"), Duration.ofMillis(300));
+        slowQueryLog.record("secondary", null, new QueryInfo("SELECT 3"), Duration.ofMillis(400));
+
+        List<SlowQuery> slowQueries = slowQueryLog.getSlowQueries();
+        assertEquals(2, slowQueries.size());
+        assertEquals("SELECT 3", slowQueries.get(0).getStatement());
+        assertEquals("secondary", slowQueries.get(0).getDatasource());
+        assertEquals(400, slowQueries.get(0).getDurationMillis());
+        assertEquals("SELECT 2", slowQueries.get(1).getStatement());
+        assertTrue(slowQueryLog.getPlans().isEmpty());
+    }
+
+    @Test
+    void onlyDataStatementsAreExplained() {
+        assertTrue(SlowQueryLog.isExplainable("  select * from employees"));
+        assertTrue(SlowQueryLog.isExplainable("UPDATE employees SET name = $1 WHERE id = $2"));
+        assertFalse(SlowQueryLog.isExplainable("COPY employees (name, role) FROM STDIN"));
+        assertFalse(SlowQueryLog.isExplainable("BEGIN"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.sbvdeveloper.employeereact.service.mongo;
+
+import com.sbvdeveloper.employeereact.domain.Employee;
+import com.sbvdeveloper.employeereact.domain.mongo.EmployeeMongo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Sincronizacion Postgres -> Mongo de punta a punta: las altas llegan como upsert y los borrados (lapidas de
+ * employees_deleted) eliminan el documento. Requiere Docker, solo corre con el perfil containers: mvn -Pcontainers test
+ */
+@Tag("containers")
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureWebTestClient
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "config.seed.enabled=false",
+        "config.sync.safety-lag=0s"
+})
+class EmployeeSyncServiceIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", EmployeeSyncServiceIntegrationTest::r2dbcUrl);
+        registry.add("spring.r2dbc.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.password", POSTGRES::getPassword);
+        registry.add("spring.r2dbc.secondary.url", EmployeeSyncServiceIntegrationTest::r2dbcUrl);
+        registry.add("spring.r2dbc.secondary.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.secondary.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.flyway.user", POSTGRES::getUsername);
+        registry.add("spring.flyway.password", POSTGRES::getPassword);
+        registry.add("spring.data.mongodb.uri", () -> MONGO.getReplicaSetUrl("employess"));
+    }
+
+    private static String r2dbcUrl() {
+        return String.format("r2dbc:postgresql://%s:%d/%s", POSTGRES.getHost(),
+                POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), POSTGRES.getDatabaseName());
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private EmployeeSyncService employeeSyncService;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Test
+    void deletedEmployeesAreRemovedFromMongo() {
+        Employee created = webTestClient.post()
+                .uri("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Employee.builder().name("Carla").role("Developer").build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Employee.class)
+                .returnResult()
+                .getResponseBody();
+        Assertions.assertNotNull(created);
+        String mongoId = String.valueOf(created.getId());
+
+        employeeSyncService.syncEmployeesToMongo().block();
+        EmployeeMongo synced = reactiveMongoTemplate.findById(mongoId, EmployeeMongo.class).block();
+        Assertions.assertNotNull(synced);
+        Assertions.assertEquals("Carla", synced.getName());
+
+        webTestClient.delete()
+                .uri("/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        employeeSyncService.syncEmployeesToMongo().block();
+        Assertions.assertNull(reactiveMongoTemplate.findById(mongoId, EmployeeMongo.class).block());
+    }
+}